@@ -0,0 +1,148 @@
+package com.hospital.benchmark;
+
+import com.hospital.HospitalManagementApplication;
+import com.hospital.service.BatchWriter;
+import jakarta.persistence.*;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Rows per second written by {@link BatchWriter#persistAll} in calls of
+ * 10,000 new rows, with the id generated by an IDENTITY column (one INSERT
+ * round trip per row, since Hibernate cannot batch them) and by a pooled
+ * sequence (multi-row JDBC batches, one sequence call per 50 ids). Both rows
+ * have the columns of a medical record.
+ *
+ * Runs against embedded H2 by default, where a round trip costs almost
+ * nothing. To measure against a real server pass its URL to the forked JVM:
+ *     -Djmh.args="BatchWriterBenchmark -jvmArgsAppend '-Dbenchmark.datasource.url=jdbc:mysql://... -Dbenchmark.datasource.password=...'"
+ * (-jvmArgsAppend takes one argument, so quote several options together;
+ * benchmark.datasource.username defaults to root). Each score comes from
+ * five forks of ten five-second iterations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@OperationsPerInvocation(BatchWriterBenchmark.ROWS)
+@Warmup(iterations = 5, time = 5)
+@Measurement(iterations = 10, time = 5)
+@Fork(5)
+public class BatchWriterBenchmark {
+
+    static final int ROWS = 10_000;
+
+    @Param({"identity", "sequence"})
+    public String idGeneration;
+
+    private ConfigurableApplicationContext context;
+    private BatchWriter batchWriter;
+    private JdbcTemplate jdbcTemplate;
+    private Supplier<BenchmarkRow> rowFactory;
+    private String table;
+    private List<BenchmarkRow> rows;
+
+    @Setup
+    public void setUp() {
+        String url = System.getProperty("benchmark.datasource.url");
+        List<String> args = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--management.server.port=0",
+                "--spring.jpa.hibernate.ddl-auto=create",
+                "--spring.jpa.show-sql=false",
+                "--spring.sql.init.mode=never",
+                "--logging.level.root=WARN",
+                "--logging.level.com.hospital=WARN"));
+        if (url == null) {
+            args.addAll(List.of(
+                    "--spring.datasource.url=jdbc:h2:mem:batchwriter;MODE=MySQL;DB_CLOSE_DELAY=-1;NON_KEYWORDS=CONDITION",
+                    "--spring.datasource.username=sa",
+                    "--spring.datasource.password=",
+                    "--spring.datasource.driver-class-name=org.h2.Driver",
+                    "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"));
+        } else {
+            args.addAll(List.of(
+                    "--spring.datasource.url=" + url,
+                    "--spring.datasource.username=" + System.getProperty("benchmark.datasource.username", "root"),
+                    "--spring.datasource.password=" + System.getProperty("benchmark.datasource.password", "")));
+        }
+        // Command-line arguments, so they win over application.properties
+        context = new SpringApplicationBuilder(HospitalManagementApplication.class).run(args.toArray(String[]::new));
+        batchWriter = context.getBean(BatchWriter.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+        if (idGeneration.equals("identity")) {
+            rowFactory = IdentityRow::new;
+            table = "benchmark_identity_rows";
+        } else {
+            rowFactory = SequenceRow::new;
+            table = "benchmark_sequence_rows";
+        }
+    }
+
+    // Each call persists fresh entities into an empty table; the setup is not timed
+    @Setup(Level.Invocation)
+    public void buildRows() {
+        jdbcTemplate.execute("DELETE FROM " + table);
+        LocalDate today = LocalDate.now();
+        rows = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            BenchmarkRow row = rowFactory.get();
+            row.recordDate = today.minusDays(i % 365);
+            row.diagnosis = "Diagnosis " + (i % 200);
+            row.treatment = "Treatment plan " + i + " with follow-up in two weeks";
+            row.notes = "Routine visit " + i;
+            rows.add(row);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<BenchmarkRow> persistAll() {
+        return batchWriter.persistAll(rows);
+    }
+
+    @MappedSuperclass
+    public abstract static class BenchmarkRow {
+        @Column(name = "record_date")
+        LocalDate recordDate;
+
+        String diagnosis;
+
+        @Column(length = 1000)
+        String treatment;
+
+        @Column(length = 2000)
+        String notes;
+    }
+
+    // How every entity was mapped before the switch to pooled sequences
+    @Entity
+    @Table(name = "benchmark_identity_rows")
+    public static class IdentityRow extends BenchmarkRow {
+        @Id
+        @GeneratedValue(strategy = GenerationType.IDENTITY)
+        Long id;
+    }
+
+    // Same mapping as MedicalRecord
+    @Entity
+    @Table(name = "benchmark_sequence_rows")
+    public static class SequenceRow extends BenchmarkRow {
+        @Id
+        @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "benchmark_row_seq")
+        @SequenceGenerator(name = "benchmark_row_seq", sequenceName = "benchmark_sequence_rows_seq", allocationSize = 50)
+        Long id;
+    }
+}
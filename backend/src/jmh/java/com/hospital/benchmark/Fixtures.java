@@ -0,0 +1,113 @@
+package com.hospital.benchmark;
+
+import com.hospital.entity.Appointment;
+import com.hospital.entity.Doctor;
+import com.hospital.entity.Patient;
+
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Deterministic, realistically shaped entities for the benchmarks. The
+ * element collections are filled the way a typical chart has them.
+ */
+final class Fixtures {
+    private static final String[] DEPARTMENTS = {"Cardiology", "Neurology", "Pediatrics", "Orthopedics", "Oncology"};
+    private static final String[] MEDICATIONS = {"Lisinopril", "Metformin", "Atorvastatin", "Amlodipine", "Omeprazole",
+            "Levothyroxine", "Albuterol", "Sertraline"};
+    private static final String[] ALLERGIES = {"Penicillin", "Peanuts", "Latex", "Sulfa", "Shellfish"};
+
+    private Fixtures() {}
+
+    static List<Doctor> doctors(int count, boolean withIds) {
+        Random random = new Random(7);
+        List<Doctor> doctors = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Doctor doctor = new Doctor("Doctor " + i, "doctor" + i + "@hospital.test", "$2a$10$benchmark");
+            if (withIds) {
+                doctor.setId((long) i + 1);
+            }
+            String department = DEPARTMENTS[i % DEPARTMENTS.length];
+            doctor.setDepartment(department);
+            doctor.setSpecialization(department);
+            doctor.setLicenseNumber("LIC-" + i);
+            doctor.setYearsOfExperience(1 + random.nextInt(35));
+            doctor.setConsultationFee(BigDecimal.valueOf(80 + random.nextInt(200)));
+            doctor.setBio("Board-certified physician with an interest in " + department.toLowerCase() + ".");
+            doctor.setEducation(new ArrayList<>(List.of("MD, State University", "Residency, General Hospital")));
+            doctor.setCertifications(new ArrayList<>(List.of("Board Certified " + department)));
+            doctor.setLanguages(new ArrayList<>(List.of("English", i % 3 == 0 ? "Spanish" : "French")));
+            doctors.add(doctor);
+        }
+        return doctors;
+    }
+
+    static List<Patient> patients(int count, boolean withIds) {
+        Random random = new Random(11);
+        List<Patient> patients = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Patient patient = new Patient("Patient " + i, "patient" + i + "@hospital.test", "$2a$10$benchmark");
+            if (withIds) {
+                patient.setId((long) i + 100_000);
+            }
+            patient.setPhone("555-" + String.format("%07d", i));
+            patient.setDateOfBirth(LocalDate.of(1940 + random.nextInt(80), 1 + random.nextInt(12), 1 + random.nextInt(28)));
+            patient.setAddress(i + " Main Street, Springfield");
+            patient.setEmergencyContact("Contact " + i + ", 555-0100");
+            patient.setBloodType(i % 2 == 0 ? "O+" : "A-");
+            patient.setAllergies(pick(random, ALLERGIES, random.nextInt(3)));
+            patient.setMedications(pick(random, MEDICATIONS, random.nextInt(5)));
+            patient.setMedicalHistory(new ArrayList<>(List.of("Annual physical " + (2015 + random.nextInt(9)))));
+            patient.setInsuranceProvider("Acme Health");
+            patient.setInsurancePolicyNumber("POL-" + i);
+            patient.setInsuranceGroupNumber("GRP-" + (i % 50));
+            patients.add(patient);
+        }
+        return patients;
+    }
+
+    // One 30-minute slot per (doctor, day), so the unique slot constraint holds
+    static List<Appointment> appointments(int count, List<Patient> patients, List<Doctor> doctors, boolean withIds) {
+        Random random = new Random(13);
+        LocalDate start = LocalDate.now().minusDays(180);
+        List<Appointment> appointments = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Doctor doctor = doctors.get(i % doctors.size());
+            int perDoctor = i / doctors.size();
+            LocalDate date = start.plusDays(perDoctor / 18);
+            LocalTime time = LocalTime.of(8, 0).plusMinutes(30L * (perDoctor % 18));
+            Appointment appointment = new Appointment(patients.get(random.nextInt(patients.size())), doctor,
+                    date, time, "Follow-up visit", doctor.getDepartment());
+            appointment.setReservedSlot(time);
+            appointment.setNotes(i % 4 == 0 ? "Bring previous lab results" : null);
+            if (withIds) {
+                appointment.setId((long) i + 1);
+            }
+            appointments.add(appointment);
+        }
+        return appointments;
+    }
+
+    static void setField(Object target, String name, Object value) {
+        try {
+            Field field = target.getClass().getDeclaredField(name);
+            field.setAccessible(true);
+            field.set(target, value);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static List<String> pick(Random random, String[] values, int count) {
+        List<String> picked = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            picked.add(values[random.nextInt(values.length)]);
+        }
+        return picked;
+    }
+}
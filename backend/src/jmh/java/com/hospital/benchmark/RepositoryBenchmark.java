@@ -0,0 +1,120 @@
+package com.hospital.benchmark;
+
+import com.hospital.HospitalManagementApplication;
+import com.hospital.dto.AppointmentSummary;
+import com.hospital.dto.PatientSummary;
+import com.hospital.dto.ResourceVersion;
+import com.hospital.entity.Appointment;
+import com.hospital.entity.Doctor;
+import com.hospital.entity.Patient;
+import com.hospital.entity.User;
+import com.hospital.repository.AppointmentRepository;
+import com.hospital.repository.DoctorRepository;
+import com.hospital.repository.PatientRepository;
+import com.hospital.repository.UserRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Limit;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Repository queries against an embedded H2 database in MySQL mode, with
+ * the application's own JPA configuration. Absolute numbers are not MySQL
+ * numbers; the point is to catch query-shape regressions between commits.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RepositoryBenchmark {
+
+    private static final int DOCTORS = 50;
+    private static final int PATIENTS = 2_000;
+    private static final int APPOINTMENTS = 20_000;
+
+    private ConfigurableApplicationContext context;
+    private UserRepository userRepository;
+    private PatientRepository patientRepository;
+    private AppointmentRepository appointmentRepository;
+
+    private long[] patientIds;
+    private long[] appointmentIds;
+    private String[] emails;
+    private final Random random = new Random(17);
+
+    @Setup
+    public void setUp() {
+        // Command-line arguments, so they win over application.properties
+        context = new SpringApplicationBuilder(HospitalManagementApplication.class).run(
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:benchmark;MODE=MySQL;DB_CLOSE_DELAY=-1;NON_KEYWORDS=CONDITION",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                "--spring.jpa.hibernate.ddl-auto=create",
+                "--spring.jpa.show-sql=false",
+                "--spring.sql.init.mode=never",
+                "--logging.level.root=WARN",
+                "--logging.level.com.hospital=WARN",
+                "--logging.level.org.springframework.security=WARN",
+                "--logging.level.org.springframework.web=WARN");
+        userRepository = context.getBean(UserRepository.class);
+        patientRepository = context.getBean(PatientRepository.class);
+        appointmentRepository = context.getBean(AppointmentRepository.class);
+
+        List<Doctor> doctors = context.getBean(DoctorRepository.class).saveAll(Fixtures.doctors(DOCTORS, false));
+        List<Patient> patients = patientRepository.saveAll(Fixtures.patients(PATIENTS, false));
+        List<Appointment> appointments = appointmentRepository.saveAll(
+                Fixtures.appointments(APPOINTMENTS, patients, doctors, false));
+
+        patientIds = patients.stream().mapToLong(User::getId).toArray();
+        appointmentIds = appointments.stream().mapToLong(Appointment::getId).toArray();
+        emails = patients.stream().map(User::getEmail).toArray(String[]::new);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    // Sign-in and verify-with-db principal lookup
+    @Benchmark
+    public Optional<User> userFindByEmail() {
+        return userRepository.findByEmail(emails[random.nextInt(emails.length)]);
+    }
+
+    @Benchmark
+    public List<PatientSummary> patientSummaryPage() {
+        return patientRepository.findSummaries(Limit.of(21));
+    }
+
+    @Benchmark
+    public List<AppointmentSummary> appointmentSummaryPage() {
+        return appointmentRepository.findSummariesByIds(appointmentRepository.findPageIds(Limit.of(21)));
+    }
+
+    @Benchmark
+    public List<AppointmentSummary> appointmentsByPatient() {
+        return appointmentRepository.findSummariesByPatientId(patientIds[random.nextInt(patientIds.length)]);
+    }
+
+    // Entity graph fetch of one appointment with its patient and doctor
+    @Benchmark
+    public Optional<Appointment> appointmentFindById() {
+        return appointmentRepository.findById(appointmentIds[random.nextInt(appointmentIds.length)]);
+    }
+
+    // Conditional GET validator
+    @Benchmark
+    public ResourceVersion appointmentCollectionVersion() {
+        return appointmentRepository.findCollectionVersion();
+    }
+}
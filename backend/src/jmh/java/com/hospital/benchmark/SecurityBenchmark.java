@@ -0,0 +1,88 @@
+package com.hospital.benchmark;
+
+import com.hospital.entity.User;
+import com.hospital.security.JwtUtils;
+import com.hospital.security.UserDetailsImpl;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.lang.reflect.Method;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request authentication work (token issue, verification, principal
+ * building) and the per-login password hash at the configured strength.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SecurityBenchmark {
+
+    private JwtUtils jwtUtils;
+    private UserDetailsImpl principal;
+    private User user;
+    private String token;
+
+    // Matches WebSecurityConfig.passwordEncoder()
+    private BCryptPasswordEncoder passwordEncoder;
+    private String passwordHash;
+
+    @Setup
+    public void setUp() throws ReflectiveOperationException {
+        jwtUtils = new JwtUtils();
+        Fixtures.setField(jwtUtils, "jwtSecret", "hospitalManagementSecretKey2024ForJWTTokenGeneration");
+        Fixtures.setField(jwtUtils, "jwtExpirationMs", 900_000);
+        Fixtures.setField(jwtUtils, "meterRegistry", new SimpleMeterRegistry());
+        Method init = JwtUtils.class.getDeclaredMethod("init");
+        init.setAccessible(true);
+        init.invoke(jwtUtils);
+
+        user = Fixtures.doctors(1, true).get(0);
+        principal = UserDetailsImpl.build(user);
+        token = jwtUtils.generateJwtToken(principal);
+
+        passwordEncoder = new BCryptPasswordEncoder();
+        passwordHash = passwordEncoder.encode("correct horse battery");
+    }
+
+    @Benchmark
+    public String generateJwtToken() {
+        return jwtUtils.generateJwtToken(principal);
+    }
+
+    @Benchmark
+    public Optional<Claims> parseClaims() {
+        return jwtUtils.parseClaims(token);
+    }
+
+    // What AuthTokenFilter does per request
+    @Benchmark
+    public Optional<UserDetailsImpl> principalFromToken() {
+        Optional<Claims> claims = jwtUtils.parseClaims(token);
+        return claims.flatMap(jwtUtils::principalFromClaims);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public UserDetailsImpl userDetailsBuild() {
+        return UserDetailsImpl.build(user);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public boolean bcryptMatches() {
+        return passwordEncoder.matches("correct horse battery", passwordHash);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public String bcryptEncode() {
+        return passwordEncoder.encode("correct horse battery");
+    }
+}
@@ -0,0 +1,61 @@
+package com.hospital.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.hospital.entity.Appointment;
+import com.hospital.entity.Doctor;
+import com.hospital.entity.Patient;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of entity lists as the controllers return them,
+ * at page-sized and export-sized lengths.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializationBenchmark {
+
+    @Param({"20", "100", "1000"})
+    public int size;
+
+    private ObjectMapper objectMapper;
+    private List<Appointment> appointments;
+    private List<Patient> patients;
+    private List<Doctor> doctors;
+
+    @Setup
+    public void setUp() {
+        // Same defaults as Spring Boot's auto-configured mapper
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        doctors = Fixtures.doctors(Math.max(1, size / 10), true);
+        patients = Fixtures.patients(size, true);
+        appointments = Fixtures.appointments(size, patients, doctors, true);
+        doctors = Fixtures.doctors(size, true);
+    }
+
+    @Benchmark
+    public byte[] appointments() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(appointments);
+    }
+
+    @Benchmark
+    public byte[] patients() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(patients);
+    }
+
+    @Benchmark
+    public byte[] doctors() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(doctors);
+    }
+}
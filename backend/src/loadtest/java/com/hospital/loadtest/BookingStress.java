@@ -0,0 +1,267 @@
+package com.hospital.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Booking throughput at rising thread counts. Each thread books its own
+ * doctor's slots one after another, so no two threads ever want the same
+ * slot and any slowdown as threads are added comes from the booking path
+ * itself (row locks, the unique slot index, retries), not from conflicts.
+ * Every round uses days no other round touches, and afterwards each doctor's
+ * schedule is read back to check that no slot holds two live appointments.
+ *
+ * Start the application with the loadtest profile, or loadtest,loadtest-mysql
+ * for MySQL, then run:
+ *     mvn -Ploadtest compile exec:java -Dexec.mainClass=com.hospital.loadtest.BookingStress -Dexec.args="..."
+ *
+ * Options (all --name=value): base-url, threads (comma-separated rounds,
+ * default 1,4,16,64), bookings (per thread per round), doctors, email,
+ * password and report (path of a JSON report). Doctors must be at least the
+ * largest thread count.
+ */
+public final class BookingStress {
+    private static final String[] DEPARTMENTS = {"Cardiology", "Neurology", "Pediatrics", "Orthopedics", "Oncology",
+            "Dermatology", "Gastroenterology", "Psychiatry", "Radiology", "Emergency"};
+    private static final int SLOTS_PER_DAY = 18;
+    private static final int HORIZON_DAYS = 89;
+
+    private final Options options;
+    private final HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+    private final ObjectMapper mapper = new ObjectMapper();
+    private String accessToken;
+
+    private BookingStress(Options options) {
+        this.options = options;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = Options.parse(args);
+        int widest = options.threads.stream().mapToInt(Integer::intValue).max().orElse(0);
+        if (widest > options.doctors) {
+            throw new IllegalArgumentException("--doctors must be at least the largest thread count, " + widest);
+        }
+        int daysPerRound = (options.bookings + SLOTS_PER_DAY - 1) / SLOTS_PER_DAY;
+        if (daysPerRound * options.threads.size() > HORIZON_DAYS) {
+            throw new IllegalArgumentException("Rounds of " + options.bookings + " bookings per thread do not fit the "
+                    + HORIZON_DAYS + "-day booking horizon");
+        }
+        System.exit(new BookingStress(options).run(daysPerRound) ? 0 : 1);
+    }
+
+    private boolean run(int daysPerRound) throws Exception {
+        signIn();
+        System.out.printf("%8s %9s %10s %9s %6s %12s%n", "threads", "bookings", "conflicts", "errors", "secs", "bookings/s");
+
+        List<Map<String, Object>> rounds = new ArrayList<>();
+        Set<Long> doctorsUsed = new HashSet<>();
+        LocalDate firstDay = LocalDate.now().plusDays(1);
+        for (int threads : options.threads) {
+            LocalDate roundStart = firstDay.plusDays((long) rounds.size() * daysPerRound);
+            Map<String, Object> round = round(threads, roundStart);
+            rounds.add(round);
+            for (int t = 0; t < threads; t++) {
+                doctorsUsed.add(doctorId(t));
+            }
+        }
+
+        // Access tokens are short-lived, and long rounds can outlast the first one
+        signIn();
+        int doubleBooked = 0;
+        for (Long doctorId : doctorsUsed) {
+            doubleBooked += doubleBookedSlots(doctorId);
+        }
+        System.out.println(doubleBooked == 0 ? "No slot is double-booked" : doubleBooked + " slots are double-booked");
+
+        if (options.report != null) {
+            Map<String, Object> report = new LinkedHashMap<>();
+            report.put("baseUrl", options.baseUrl);
+            report.put("bookingsPerThread", options.bookings);
+            report.put("rounds", rounds);
+            report.put("doubleBookedSlots", doubleBooked);
+            mapper.enable(SerializationFeature.INDENT_OUTPUT).writeValue(new File(options.report), report);
+            System.out.println("Report written to " + options.report);
+        }
+        return doubleBooked == 0;
+    }
+
+    private Map<String, Object> round(int threads, LocalDate roundStart) throws Exception {
+        LongAdder booked = new LongAdder();
+        LongAdder conflicts = new LongAdder();
+        LongAdder errors = new LongAdder();
+        CountDownLatch start = new CountDownLatch(1);
+        long started;
+        long finished;
+        try (ExecutorService pool = Executors.newFixedThreadPool(threads)) {
+            List<Future<?>> workers = new ArrayList<>(threads);
+            for (int t = 0; t < threads; t++) {
+                int thread = t;
+                workers.add(pool.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < options.bookings; i++) {
+                        int status = book(thread, roundStart.plusDays(i / SLOTS_PER_DAY),
+                                LocalTime.of(8, 0).plusMinutes(30L * (i % SLOTS_PER_DAY)));
+                        if (status == 200) {
+                            booked.increment();
+                        } else if (status == 409) {
+                            conflicts.increment();
+                        } else {
+                            errors.increment();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            started = System.nanoTime();
+            start.countDown();
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+            finished = System.nanoTime();
+        }
+
+        double seconds = (finished - started) / 1e9;
+        System.out.printf("%8d %9d %10d %9d %6.1f %12.1f%n",
+                threads, booked.sum(), conflicts.sum(), errors.sum(), seconds, booked.sum() / seconds);
+        Map<String, Object> round = new LinkedHashMap<>();
+        round.put("threads", threads);
+        round.put("bookings", booked.sum());
+        round.put("conflicts", conflicts.sum());
+        round.put("errors", errors.sum());
+        round.put("seconds", seconds);
+        round.put("bookingsPerSecond", booked.sum() / seconds);
+        return round;
+    }
+
+    // 409 here means the generated schedule already holds the slot; the threads never compete with each other
+    private int book(int thread, LocalDate date, LocalTime time) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("doctorId", doctorId(thread));
+        body.put("appointmentDate", date.toString());
+        body.put("appointmentTime", time.toString());
+        body.put("reason", "Booking stress");
+        body.put("department", DEPARTMENTS[thread % DEPARTMENTS.length]);
+        try {
+            return post("/appointments/patient/" + patientId(thread), body).statusCode();
+        } catch (IOException e) {
+            return -1;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return -1;
+        }
+    }
+
+    private int doubleBookedSlots(Long doctorId) throws IOException, InterruptedException {
+        HttpRequest request = request("/appointments/doctor/" + doctorId).GET().build();
+        HttpResponse<String> response = http.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Reading the schedule of doctor " + doctorId + " returned " + response.statusCode());
+        }
+        Set<String> taken = new HashSet<>();
+        int doubleBooked = 0;
+        for (JsonNode appointment : mapper.readTree(response.body())) {
+            if ("CANCELLED".equals(appointment.path("status").asText())) {
+                continue;
+            }
+            if (!taken.add(appointment.path("appointmentDate").asText() + " " + appointment.path("appointmentTime").asText())) {
+                doubleBooked++;
+            }
+        }
+        return doubleBooked;
+    }
+
+    private void signIn() throws IOException, InterruptedException {
+        HttpResponse<String> response = post("/auth/signin",
+                Map.of("email", options.email, "password", options.password, "role", "ADMIN"));
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Could not sign in as " + options.email + " at " + options.baseUrl);
+        }
+        accessToken = mapper.readTree(response.body()).path("token").asText();
+    }
+
+    private HttpResponse<String> post(String path, Object body) throws IOException, InterruptedException {
+        HttpRequest request = request(path)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(mapper.writeValueAsBytes(body)))
+                .build();
+        return http.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpRequest.Builder request(String path) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(options.baseUrl + path))
+                .timeout(Duration.ofSeconds(30));
+        if (accessToken != null) {
+            builder.header("Authorization", "Bearer " + accessToken);
+        }
+        return builder;
+    }
+
+    // Same id layout as SyntheticDataGenerator: the admin, then the doctors, then the patients
+    private long doctorId(int thread) {
+        return 2L + thread;
+    }
+
+    private long patientId(int thread) {
+        return 2L + options.doctors + thread;
+    }
+
+    private static final class Options {
+        String baseUrl = "http://localhost:8080/api";
+        List<Integer> threads = List.of(1, 4, 16, 64);
+        int bookings = 200;
+        int doctors = 200;
+        String email = SyntheticDataGenerator.ADMIN_EMAIL;
+        String password = "loadtest";
+        String report;
+
+        static Options parse(String[] args) {
+            Options options = new Options();
+            for (String arg : args) {
+                if (!arg.startsWith("--") || !arg.contains("=")) {
+                    throw new IllegalArgumentException("Expected --name=value but got " + arg);
+                }
+                String name = arg.substring(2, arg.indexOf('='));
+                String value = arg.substring(arg.indexOf('=') + 1);
+                switch (name) {
+                    case "base-url" -> options.baseUrl = value.endsWith("/") ? value.substring(0, value.length() - 1) : value;
+                    case "threads" -> {
+                        List<Integer> threads = new ArrayList<>();
+                        for (String count : value.split(",")) {
+                            threads.add(Integer.parseInt(count.trim()));
+                        }
+                        options.threads = threads;
+                    }
+                    case "bookings" -> options.bookings = Integer.parseInt(value);
+                    case "doctors" -> options.doctors = Integer.parseInt(value);
+                    case "email" -> options.email = value;
+                    case "password" -> options.password = value;
+                    case "report" -> options.report = value;
+                    default -> throw new IllegalArgumentException("Unknown option: --" + name);
+                }
+            }
+            return options;
+        }
+    }
+}
@@ -0,0 +1,400 @@
+package com.hospital.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Drives a weighted mix of API calls against a running instance started
+ * with the loadtest profile, then prints throughput and latency percentiles
+ * per endpoint. Ids are derived from the same scale settings the generator
+ * used, so no discovery requests skew the numbers.
+ *
+ * Options (all --name=value): base-url, clients, warmup and duration in
+ * seconds, doctors, patients, appointments, medical-records, email,
+ * password, report (path of a JSON report), and mix, e.g.
+ * --mix=patient-by-id:20,signin:0 to reweight or disable operations.
+ */
+public final class LoadDriver {
+    private static final String[] DEPARTMENTS = {"Cardiology", "Neurology", "Pediatrics", "Orthopedics", "Oncology",
+            "Dermatology", "Gastroenterology", "Psychiatry", "Radiology", "Emergency"};
+    private static final String[] NAME_PREFIXES = {"Smi", "Joh", "Gar", "Mil", "Dav", "Rod", "Mar", "Lop", "Wil",
+            "And", "Tho", "Tay", "Moo", "Jac", "Lee", "Che", "Wan", "Pat", "Kim", "Ngu", "Mary", "James", "Priya"};
+    private static final String[] VOCABULARY_PREFIXES = {"a", "h", "l", "m", "me", "met", "o", "s", "hyp", "ins"};
+
+    private final Options options;
+    private final HttpClient http;
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final Map<String, Stats> stats = new ConcurrentHashMap<>();
+    private final List<Operation> mix = new ArrayList<>();
+    private int totalWeight;
+    private volatile boolean measuring;
+    private volatile boolean running = true;
+    private volatile String sharedAccessToken;
+
+    private LoadDriver(Options options) {
+        this.options = options;
+        this.http = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = Options.parse(args);
+        new LoadDriver(options).run();
+    }
+
+    private void run() throws Exception {
+        defineMix();
+        Session admin = new Session();
+        if (!signIn(admin)) {
+            throw new IllegalStateException("Could not sign in as " + options.email + " at " + options.baseUrl);
+        }
+        sharedAccessToken = admin.accessToken;
+
+        System.out.printf("Driving %d clients against %s: %ds warmup, %ds measured%n",
+                options.clients, options.baseUrl, options.warmupSeconds, options.durationSeconds);
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < options.clients; i++) {
+                clients.submit(this::client);
+            }
+            Thread.sleep(options.warmupSeconds * 1000L);
+            measuring = true;
+            long started = System.nanoTime();
+            Thread.sleep(options.durationSeconds * 1000L);
+            measuring = false;
+            running = false;
+            double elapsedSeconds = (System.nanoTime() - started) / 1e9;
+            report(elapsedSeconds);
+        }
+    }
+
+    private void client() {
+        Session session = new Session();
+        session.accessToken = sharedAccessToken;
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (running) {
+            Operation operation = pick(random.nextInt(totalWeight));
+            long started = System.nanoTime();
+            int status;
+            try {
+                status = operation.action.call(session, random);
+            } catch (IOException e) {
+                status = -1;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (measuring) {
+                stats.computeIfAbsent(operation.name, Stats::new).record(status, (System.nanoTime() - started) / 1000);
+            }
+            if (status == 401) {
+                session.accessToken = sharedAccessToken;
+            }
+        }
+    }
+
+    private void defineMix() {
+        add("patients-page", 8, (s, r) -> get(s, "/api/patients?size=20"));
+        add("patient-search", 6, (s, r) -> get(s, "/api/patients/search?q="
+                + encode(NAME_PREFIXES[r.nextInt(NAME_PREFIXES.length)]) + "&size=20"));
+        add("patient-by-id", 10, (s, r) -> get(s, "/api/patients/" + patientId(r)));
+        add("doctors", 6, (s, r) -> get(s, "/doctors"));
+        add("doctors-by-department", 4, (s, r) -> get(s, "/doctors/department/" + department(r)));
+        add("appointments-page", 6, (s, r) -> get(s, "/appointments?size=20"));
+        add("appointment-by-id", 8, (s, r) -> get(s, "/appointments/" + (1 + r.nextInt(options.appointments))));
+        add("appointments-by-patient", 8, (s, r) -> get(s, "/appointments/patient/" + patientId(r)));
+        add("appointments-by-doctor", 6, (s, r) -> get(s, "/appointments/doctor/" + doctorId(r)));
+        add("appointments-today", 4, (s, r) -> get(s, "/appointments/today"));
+        add("records-by-patient", 8, (s, r) -> get(s, "/medical-records/patient/" + patientId(r)));
+        add("record-by-id", 4, (s, r) -> get(s, "/medical-records/" + (1 + r.nextInt(options.medicalRecords))));
+        add("autocomplete", 4, (s, r) -> get(s, "/autocomplete/" + (r.nextBoolean() ? "medications" : "diagnoses")
+                + "?prefix=" + VOCABULARY_PREFIXES[r.nextInt(VOCABULARY_PREFIXES.length)]));
+        add("availability-doctor", 6, (s, r) -> get(s, "/availability/doctor/" + doctorId(r)));
+        add("availability-earliest", 3, (s, r) -> get(s, "/availability/department/" + department(r) + "/earliest"));
+        add("dashboard", 2, (s, r) -> get(s, "/api/dashboard"));
+        add("book-appointment", 3, this::book);
+        add("refresh", 2, this::refresh);
+        add("signin", 1, (s, r) -> signIn(s) ? 200 : s.lastStatus);
+
+        for (Map.Entry<String, Integer> override : options.mix.entrySet()) {
+            Operation operation = mix.stream().filter(o -> o.name.equals(override.getKey())).findFirst()
+                    .orElseThrow(() -> new IllegalArgumentException("Unknown operation: " + override.getKey()));
+            operation.weight = override.getValue();
+        }
+        mix.removeIf(operation -> operation.weight <= 0);
+        int cumulative = 0;
+        for (Operation operation : mix) {
+            cumulative += operation.weight;
+            operation.cumulativeWeight = cumulative;
+        }
+        totalWeight = cumulative;
+        if (totalWeight == 0) {
+            throw new IllegalArgumentException("The mix has no operations left");
+        }
+    }
+
+    private void add(String name, int weight, Action action) {
+        mix.add(new Operation(name, weight, action));
+    }
+
+    private Operation pick(int roll) {
+        for (Operation operation : mix) {
+            if (roll < operation.cumulativeWeight) {
+                return operation;
+            }
+        }
+        return mix.get(mix.size() - 1);
+    }
+
+    // Spans the 90-day booking horizon, past the generated schedule, so most attempts succeed and some conflict
+    private int book(Session session, ThreadLocalRandom random) throws IOException, InterruptedException {
+        Map<String, Object> body = new LinkedHashMap<>();
+        int doctorIndex = random.nextInt(options.doctors);
+        body.put("doctorId", 2L + doctorIndex);
+        body.put("appointmentDate", LocalDate.now().plusDays(1 + random.nextInt(89)).toString());
+        body.put("appointmentTime", LocalTime.of(8, 0).plusMinutes(30L * random.nextInt(18)).toString());
+        body.put("reason", "Load test booking");
+        body.put("department", DEPARTMENTS[doctorIndex % DEPARTMENTS.length]);
+        return post(session, "/appointments/patient/" + patientId(random), body).statusCode();
+    }
+
+    private int refresh(Session session, ThreadLocalRandom random) throws IOException, InterruptedException {
+        if (session.refreshToken == null) {
+            return signIn(session) ? 200 : session.lastStatus;
+        }
+        HttpResponse<String> response = post(session, "/auth/refresh", Map.of("refreshToken", session.refreshToken));
+        if (response.statusCode() == 200) {
+            JsonNode json = mapper.readTree(response.body());
+            session.accessToken = json.path("token").asText();
+            session.refreshToken = json.path("refreshToken").asText();
+        } else {
+            session.refreshToken = null;
+        }
+        return response.statusCode();
+    }
+
+    private boolean signIn(Session session) throws IOException, InterruptedException {
+        HttpResponse<String> response = post(null, "/auth/signin",
+                Map.of("email", options.email, "password", options.password, "role", "ADMIN"));
+        session.lastStatus = response.statusCode();
+        if (response.statusCode() != 200) {
+            return false;
+        }
+        JsonNode json = mapper.readTree(response.body());
+        session.accessToken = json.path("token").asText();
+        session.refreshToken = json.path("refreshToken").asText(null);
+        return true;
+    }
+
+    private int get(Session session, String path) throws IOException, InterruptedException {
+        HttpRequest request = request(session, path).GET().build();
+        return http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private HttpResponse<String> post(Session session, String path, Object body) throws IOException, InterruptedException {
+        HttpRequest request = request(session, path)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(mapper.writeValueAsBytes(body)))
+                .build();
+        return http.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpRequest.Builder request(Session session, String path) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(options.baseUrl + path))
+                .timeout(Duration.ofSeconds(30));
+        if (session != null && session.accessToken != null) {
+            builder.header("Authorization", "Bearer " + session.accessToken);
+        }
+        return builder;
+    }
+
+    private long patientId(ThreadLocalRandom random) {
+        return 2L + options.doctors + random.nextInt(options.patients);
+    }
+
+    private long doctorId(ThreadLocalRandom random) {
+        return 2L + random.nextInt(options.doctors);
+    }
+
+    private static String department(ThreadLocalRandom random) {
+        return DEPARTMENTS[random.nextInt(DEPARTMENTS.length)];
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    private void report(double elapsedSeconds) throws IOException {
+        Map<String, Stats> sorted = new TreeMap<>(stats);
+        LatencyHistogram overall = new LatencyHistogram();
+        long requests = 0;
+
+        System.out.printf("%n%-24s %9s %8s %6s %6s %9s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "req/s", "4xx", "err", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (Stats endpoint : sorted.values()) {
+            long count = endpoint.latency.count();
+            requests += count;
+            endpoint.latency.copyInto(overall);
+            System.out.printf("%-24s %9d %8.1f %6d %6d %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                    endpoint.name, count, count / elapsedSeconds, endpoint.clientErrors.sum(), endpoint.errors.sum(),
+                    millis(endpoint.latency.percentile(50)), millis(endpoint.latency.percentile(90)),
+                    millis(endpoint.latency.percentile(99)), millis(endpoint.latency.percentile(99.9)),
+                    millis(endpoint.latency.max()));
+            rows.add(endpoint.toReport(elapsedSeconds));
+        }
+        System.out.printf("%-24s %9d %8.1f %6s %6s %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                "TOTAL", requests, requests / elapsedSeconds, "", "",
+                millis(overall.percentile(50)), millis(overall.percentile(90)), millis(overall.percentile(99)),
+                millis(overall.percentile(99.9)), millis(overall.max()));
+
+        if (options.report != null) {
+            Map<String, Object> report = new LinkedHashMap<>();
+            report.put("baseUrl", options.baseUrl);
+            report.put("clients", options.clients);
+            report.put("durationSeconds", elapsedSeconds);
+            report.put("requests", requests);
+            report.put("throughput", requests / elapsedSeconds);
+            report.put("endpoints", rows);
+            mapper.enable(SerializationFeature.INDENT_OUTPUT).writeValue(new File(options.report), report);
+            System.out.println("Report written to " + options.report);
+        }
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+
+    @FunctionalInterface
+    private interface Action {
+        int call(Session session, ThreadLocalRandom random) throws IOException, InterruptedException;
+    }
+
+    private static final class Operation {
+        final String name;
+        final Action action;
+        int weight;
+        int cumulativeWeight;
+
+        Operation(String name, int weight, Action action) {
+            this.name = name;
+            this.weight = weight;
+            this.action = action;
+        }
+    }
+
+    private static final class Session {
+        String accessToken;
+        String refreshToken;
+        int lastStatus;
+    }
+
+    private static final class Stats {
+        final String name;
+        final LatencyHistogram latency = new LatencyHistogram();
+        final LongAdder clientErrors = new LongAdder();
+        final LongAdder errors = new LongAdder();
+
+        Stats(String name) {
+            this.name = name;
+        }
+
+        // 4xx are often expected (booking conflicts, busy sign-in lane); 5xx and I/O failures are errors
+        void record(int status, long micros) {
+            latency.record(micros);
+            if (status < 0 || status >= 500) {
+                errors.increment();
+            } else if (status >= 400) {
+                clientErrors.increment();
+            }
+        }
+
+        Map<String, Object> toReport(double elapsedSeconds) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            long count = latency.count();
+            row.put("endpoint", name);
+            row.put("requests", count);
+            row.put("throughput", count / elapsedSeconds);
+            row.put("clientErrors", clientErrors.sum());
+            row.put("errors", errors.sum());
+            row.put("p50Ms", millis(latency.percentile(50)));
+            row.put("p90Ms", millis(latency.percentile(90)));
+            row.put("p99Ms", millis(latency.percentile(99)));
+            row.put("p999Ms", millis(latency.percentile(99.9)));
+            row.put("maxMs", millis(latency.max()));
+            return row;
+        }
+    }
+
+    private static final class Options {
+        String baseUrl = "http://localhost:8080/api";
+        int clients = 64;
+        int warmupSeconds = 10;
+        int durationSeconds = 60;
+        int doctors = 200;
+        int patients = 20000;
+        int appointments = 200000;
+        int medicalRecords = 100000;
+        String email = SyntheticDataGenerator.ADMIN_EMAIL;
+        String password = "loadtest";
+        String report;
+        Map<String, Integer> mix = new HashMap<>();
+
+        static Options parse(String[] args) {
+            Options options = new Options();
+            for (String arg : args) {
+                if (!arg.startsWith("--") || !arg.contains("=")) {
+                    throw new IllegalArgumentException("Expected --name=value but got " + arg);
+                }
+                String name = arg.substring(2, arg.indexOf('='));
+                String value = arg.substring(arg.indexOf('=') + 1);
+                switch (name) {
+                    case "base-url" -> options.baseUrl = value.endsWith("/") ? value.substring(0, value.length() - 1) : value;
+                    case "clients" -> options.clients = Integer.parseInt(value);
+                    case "warmup" -> options.warmupSeconds = Integer.parseInt(value);
+                    case "duration" -> options.durationSeconds = Integer.parseInt(value);
+                    case "doctors" -> options.doctors = Integer.parseInt(value);
+                    case "patients" -> options.patients = Integer.parseInt(value);
+                    case "appointments" -> options.appointments = Integer.parseInt(value);
+                    case "medical-records" -> options.medicalRecords = Integer.parseInt(value);
+                    case "email" -> options.email = value;
+                    case "password" -> options.password = value;
+                    case "report" -> options.report = value;
+                    case "mix" -> {
+                        for (String entry : value.split(",")) {
+                            String[] parts = entry.split(":");
+                            options.mix.put(parts[0].trim(), Integer.parseInt(parts[1].trim()));
+                        }
+                    }
+                    default -> throw new IllegalArgumentException("Unknown option: --" + name);
+                }
+            }
+            return options;
+        }
+    }
+}
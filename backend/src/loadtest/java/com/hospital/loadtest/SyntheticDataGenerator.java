@@ -0,0 +1,338 @@
+package com.hospital.loadtest;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.BiConsumer;
+
+/**
+ * Fills the embedded database with synthetic patients, doctors,
+ * appointments, medical records and bills before the application reports ready,
+ * so the startup caches and indexes are built over the generated data.
+ *
+ * Rows are written with plain JDBC batches, split into id ranges that load
+ * in parallel. Ids are assigned here and the pooled sequences are moved
+ * past them afterwards. Every chunk derives its random stream from its
+ * first id, so a given scale always produces the same data.
+ */
+@Component
+@Profile("loadtest")
+@Order(0)
+public class SyntheticDataGenerator implements ApplicationRunner {
+    private static final Logger logger = LoggerFactory.getLogger(SyntheticDataGenerator.class);
+
+    static final String ADMIN_EMAIL = "admin@loadtest.local";
+
+    private static final String[] FIRST_NAMES = {"James", "Mary", "Robert", "Patricia", "John", "Jennifer", "Michael",
+            "Linda", "David", "Elizabeth", "William", "Barbara", "Richard", "Susan", "Joseph", "Jessica", "Thomas",
+            "Sarah", "Carlos", "Maria", "Wei", "Mei", "Ahmed", "Fatima", "Raj", "Priya", "Olga", "Ivan", "Kenji", "Yuki"};
+    private static final String[] LAST_NAMES = {"Smith", "Johnson", "Williams", "Brown", "Jones", "Garcia", "Miller",
+            "Davis", "Rodriguez", "Martinez", "Hernandez", "Lopez", "Gonzalez", "Wilson", "Anderson", "Thomas", "Taylor",
+            "Moore", "Jackson", "Martin", "Lee", "Perez", "Thompson", "White", "Harris", "Chen", "Wang", "Patel", "Kim", "Nguyen"};
+    private static final String[] DEPARTMENTS = {"Cardiology", "Neurology", "Pediatrics", "Orthopedics", "Oncology",
+            "Dermatology", "Gastroenterology", "Psychiatry", "Radiology", "Emergency"};
+    private static final String[] MEDICATIONS = {"Lisinopril", "Metformin", "Atorvastatin", "Amlodipine", "Omeprazole",
+            "Levothyroxine", "Albuterol", "Sertraline", "Simvastatin", "Losartan", "Gabapentin", "Hydrochlorothiazide",
+            "Metoprolol", "Prednisone", "Amoxicillin", "Ibuprofen", "Warfarin", "Insulin glargine"};
+    private static final String[] DIAGNOSES = {"Hypertension", "Type 2 diabetes", "Hyperlipidemia", "Asthma",
+            "Migraine", "Osteoarthritis", "Major depressive disorder", "Hypothyroidism", "Gastroesophageal reflux disease",
+            "Atrial fibrillation", "Chronic kidney disease", "Acute bronchitis", "Lower back pain", "Anxiety disorder"};
+    private static final String[] ALLERGIES = {"Penicillin", "Peanuts", "Latex", "Sulfa drugs", "Shellfish", "Pollen"};
+    private static final String[] HISTORY = {"Appendectomy", "Tonsillectomy", "Fractured wrist", "Pneumonia",
+            "Gestational diabetes", "Knee arthroscopy"};
+    private static final String[] BLOOD_TYPES = {"O+", "O-", "A+", "A-", "B+", "B-", "AB+", "AB-"};
+    private static final String[] REASONS = {"Annual checkup", "Follow-up visit", "Medication review", "Lab results",
+            "New symptoms", "Post-operative check", "Vaccination"};
+    private static final int SLOTS_PER_DAY = 18;
+    // Matches the entities' pooled sequence generators
+    private static final int ALLOCATION_SIZE = 50;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Value("${loadtest.data.doctors:200}")
+    private int doctors;
+
+    @Value("${loadtest.data.patients:20000}")
+    private int patients;
+
+    @Value("${loadtest.data.appointments:200000}")
+    private int appointments;
+
+    @Value("${loadtest.data.medical-records:100000}")
+    private int medicalRecords;
+
+    @Value("${loadtest.data.bills:100000}")
+    private int bills;
+
+    @Value("${loadtest.data.threads:0}")
+    private int threads;
+
+    @Value("${loadtest.data.chunk-size:5000}")
+    private int chunkSize;
+
+    @Value("${loadtest.data.password:loadtest}")
+    private String password;
+
+    private String passwordHash;
+    private Dialect dialect;
+    // Patient maps medical history to the reserved word CONDITION as a quoted name; the dialect decides the quotes
+    private String conditionColumn;
+    private LocalDateTime now;
+    private LocalDate firstAppointmentDay;
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        Long existing = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users", Long.class);
+        if (existing != null && existing > 0) {
+            logger.info("Load-test data already present ({} users); skipping generation", existing);
+            return;
+        }
+
+        long started = System.nanoTime();
+        passwordHash = passwordEncoder.encode(password);
+        dialect = entityManagerFactory.unwrap(SessionFactoryImplementor.class).getJdbcServices().getDialect();
+        conditionColumn = dialect.toQuotedIdentifier("condition");
+        now = LocalDateTime.now();
+        // Two thirds of the schedule lies in the past, so there is history, a today and a future
+        long scheduleDays = (long) Math.ceil((double) appointments / Math.max(1, doctors) / SLOTS_PER_DAY);
+        firstAppointmentDay = LocalDate.now().minusDays(scheduleDays * 2 / 3);
+
+        int workers = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        ExecutorService executor = Executors.newFixedThreadPool(workers);
+        try {
+            insertAdmin();
+            load(executor, "doctors", doctors, this::insertDoctors);
+            load(executor, "patients", patients, this::insertPatients);
+            load(executor, "appointments", appointments, this::insertAppointments);
+            load(executor, "medical records", medicalRecords, this::insertMedicalRecords);
+            load(executor, "bills", bills, this::insertBills);
+        } finally {
+            executor.shutdown();
+        }
+
+        long nextUserId = firstPatientId() + patients;
+        restartSequence("users_seq", nextUserId);
+        restartSequence("appointments_seq", appointments + 1L);
+        restartSequence("medical_records_seq", medicalRecords + 1L);
+        restartSequence("bills_seq", bills + 1L);
+
+        logger.info("Generated {} doctors, {} patients, {} appointments, {} medical records and {} bills in {} s using {} threads",
+                doctors, patients, appointments, medicalRecords, bills, (System.nanoTime() - started) / 1_000_000_000, workers);
+    }
+
+    // Splits [0, count) into chunks and loads them on the pool; fails fast on the first error
+    private void load(ExecutorService executor, String label, int count, BiConsumer<Integer, Integer> chunkLoader)
+            throws InterruptedException {
+        long started = System.nanoTime();
+        List<Future<?>> chunks = new ArrayList<>();
+        for (int from = 0; from < count; from += chunkSize) {
+            int start = from;
+            int end = Math.min(count, from + chunkSize);
+            chunks.add(executor.submit(() -> chunkLoader.accept(start, end)));
+        }
+        for (Future<?> chunk : chunks) {
+            try {
+                chunk.get();
+            } catch (ExecutionException e) {
+                chunks.forEach(pending -> pending.cancel(true));
+                throw new IllegalStateException("Loading " + label + " failed", e.getCause());
+            }
+        }
+        logger.info("Loaded {} {} in {} ms", count, label, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    private void insertAdmin() {
+        jdbcTemplate.update("INSERT INTO users (id, name, email, password, role, phone, created_at, updated_at) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)", 1L, "Load Test Admin", ADMIN_EMAIL, passwordHash, "ADMIN",
+                "555-0000000", Timestamp.valueOf(now), Timestamp.valueOf(now));
+    }
+
+    private void insertDoctors(int from, int to) {
+        SplittableRandom random = new SplittableRandom(from);
+        List<Object[]> users = new ArrayList<>();
+        List<Object[]> rows = new ArrayList<>();
+        List<Object[]> languages = new ArrayList<>();
+        List<Object[]> education = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            long id = doctorId(i);
+            String department = DEPARTMENTS[i % DEPARTMENTS.length];
+            users.add(user(id, "Dr. " + name(random), "doctor" + i + "@loadtest.local", "DOCTOR", i));
+            rows.add(new Object[]{id, department, department, "LIC-" + i, 1 + random.nextInt(35),
+                    BigDecimal.valueOf(80 + random.nextInt(220)), "Attending physician in " + department + "."});
+            languages.add(new Object[]{id, "English"});
+            if (random.nextInt(3) == 0) {
+                languages.add(new Object[]{id, random.nextBoolean() ? "Spanish" : "Mandarin"});
+            }
+            education.add(new Object[]{id, "MD, State University School of Medicine"});
+        }
+        batch("INSERT INTO users (id, name, email, password, role, phone, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?)", users);
+        batch("INSERT INTO doctors (user_id, specialization, department, license_number, years_of_experience, consultation_fee, bio) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?)", rows);
+        batch("INSERT INTO doctor_languages (doctor_id, language) VALUES (?, ?)", languages);
+        batch("INSERT INTO doctor_education (doctor_id, education) VALUES (?, ?)", education);
+    }
+
+    private void insertPatients(int from, int to) {
+        SplittableRandom random = new SplittableRandom(1_000_000L + from);
+        List<Object[]> users = new ArrayList<>();
+        List<Object[]> rows = new ArrayList<>();
+        List<Object[]> allergies = new ArrayList<>();
+        List<Object[]> medications = new ArrayList<>();
+        List<Object[]> history = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            long id = firstPatientId() + i;
+            users.add(user(id, name(random), "patient" + i + "@loadtest.local", "PATIENT", i));
+            rows.add(new Object[]{id, Date.valueOf(LocalDate.of(1935 + random.nextInt(85), 1 + random.nextInt(12), 1 + random.nextInt(28))),
+                    (100 + random.nextInt(9900)) + " Main Street, Springfield", name(random) + ", 555-0100",
+                    BLOOD_TYPES[random.nextInt(BLOOD_TYPES.length)], "Acme Health", "POL-" + (10_000_000 + i), "GRP-" + (i % 500)});
+            addSome(allergies, id, ALLERGIES, random.nextInt(3), random);
+            addSome(medications, id, MEDICATIONS, random.nextInt(4), random);
+            addSome(history, id, HISTORY, random.nextInt(3), random);
+        }
+        batch("INSERT INTO users (id, name, email, password, role, phone, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?)", users);
+        batch("INSERT INTO patients (user_id, date_of_birth, address, emergency_contact, blood_type, insurance_provider, "
+                + "insurance_policy_number, insurance_group_number) VALUES (?, ?, ?, ?, ?, ?, ?, ?)", rows);
+        batch("INSERT INTO patient_allergies (patient_id, allergy) VALUES (?, ?)", allergies);
+        batch("INSERT INTO patient_medications (patient_id, medication) VALUES (?, ?)", medications);
+        batch("INSERT INTO patient_medical_history (patient_id, " + conditionColumn + ") VALUES (?, ?)", history);
+    }
+
+    // Appointment i takes slot i / doctors of doctor i % doctors, so (doctor, date, slot) never collides
+    private void insertAppointments(int from, int to) {
+        SplittableRandom random = new SplittableRandom(2_000_000L + from);
+        LocalDate today = LocalDate.now();
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            int doctorIndex = i % doctors;
+            int slotIndex = i / doctors;
+            LocalDate date = firstAppointmentDay.plusDays(slotIndex / SLOTS_PER_DAY);
+            LocalTime time = LocalTime.of(8, 0).plusMinutes(30L * (slotIndex % SLOTS_PER_DAY));
+            String status;
+            if (!date.isBefore(today)) {
+                status = random.nextInt(20) == 0 ? "CANCELLED" : "SCHEDULED";
+            } else {
+                int roll = random.nextInt(10);
+                status = roll < 8 ? "COMPLETED" : roll == 8 ? "CANCELLED" : "NO_SHOW";
+            }
+            Timestamp created = Timestamp.valueOf(date.atStartOfDay().minusDays(1 + random.nextInt(30)));
+            rows.add(new Object[]{(long) i + 1, firstPatientId() + random.nextInt(patients), doctorId(doctorIndex),
+                    Date.valueOf(date), Time.valueOf(time), status, REASONS[random.nextInt(REASONS.length)],
+                    random.nextInt(4) == 0 ? "Bring previous lab results" : null, DEPARTMENTS[doctorIndex % DEPARTMENTS.length],
+                    "CANCELLED".equals(status) ? null : Time.valueOf(time), 0L, created, created});
+        }
+        batch("INSERT INTO appointments (id, patient_id, doctor_id, appointment_date, appointment_time, status, reason, notes, "
+                + "department, reserved_slot, version, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", rows);
+    }
+
+    private void insertMedicalRecords(int from, int to) {
+        SplittableRandom random = new SplittableRandom(3_000_000L + from);
+        LocalDate today = LocalDate.now();
+        List<Object[]> rows = new ArrayList<>();
+        List<Object[]> medications = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            long id = (long) i + 1;
+            LocalDate date = today.minusDays(random.nextInt(730));
+            Timestamp created = Timestamp.valueOf(date.atTime(9 + random.nextInt(8), 0));
+            rows.add(new Object[]{id, firstPatientId() + random.nextInt(patients), doctorId(random.nextInt(doctors)),
+                    Date.valueOf(date), DIAGNOSES[random.nextInt(DIAGNOSES.length)], "Treatment plan discussed with patient.",
+                    random.nextInt(3) == 0 ? "Patient reports improvement since last visit." : null,
+                    random.nextBoolean() ? Date.valueOf(date.plusWeeks(2 + random.nextInt(10))) : null, created, created});
+            addSome(medications, id, MEDICATIONS, 1 + random.nextInt(3), random);
+        }
+        batch("INSERT INTO medical_records (id, patient_id, doctor_id, record_date, diagnosis, treatment, notes, follow_up_date, "
+                + "created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", rows);
+        batch("INSERT INTO record_medications (record_id, medication) VALUES (?, ?)", medications);
+    }
+
+    // A year of bills: mostly paid, a quarter still pending
+    private void insertBills(int from, int to) {
+        SplittableRandom random = new SplittableRandom(4_000_000L + from);
+        LocalDate today = LocalDate.now();
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            LocalDate date = today.minusDays(random.nextInt(365));
+            int roll = random.nextInt(20);
+            String status = roll < 14 ? "PAID" : roll < 19 ? "PENDING" : "CANCELLED";
+            String department = DEPARTMENTS[random.nextInt(DEPARTMENTS.length)];
+            Timestamp created = Timestamp.valueOf(date.atTime(17, 0));
+            rows.add(new Object[]{(long) i + 1, firstPatientId() + random.nextInt(patients),
+                    BigDecimal.valueOf(5_000 + random.nextInt(95_000), 2), status, Date.valueOf(date), department,
+                    "Consultation, " + department, created, created});
+        }
+        batch("INSERT INTO bills (id, patient_id, amount, status, bill_date, department, description, created_at, updated_at) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)", rows);
+    }
+
+    private Object[] user(long id, String name, String email, String role, int index) {
+        return new Object[]{id, name, email, passwordHash, role, "555-" + String.format("%07d", index),
+                Timestamp.valueOf(now), Timestamp.valueOf(now)};
+    }
+
+    private void batch(String sql, List<Object[]> rows) {
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(sql, rows);
+        }
+    }
+
+    // The pooled optimizer hands out the allocationSize ids below each sequence value.
+    // MySQL has no sequences, so Hibernate keeps each one as a single-row table there.
+    private void restartSequence(String sequence, long next) {
+        long value = next + ALLOCATION_SIZE - 1;
+        if (dialect.getSequenceSupport().supportsSequences()) {
+            jdbcTemplate.execute("ALTER SEQUENCE " + sequence + " RESTART WITH " + value);
+        } else {
+            jdbcTemplate.update("UPDATE " + sequence + " SET next_val = ?", value);
+        }
+    }
+
+    private long doctorId(int index) {
+        return 2L + index;
+    }
+
+    private long firstPatientId() {
+        return 2L + doctors;
+    }
+
+    private static String name(SplittableRandom random) {
+        return FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " " + LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+    }
+
+    private static void addSome(List<Object[]> rows, long ownerId, String[] values, int count, SplittableRandom random) {
+        for (int i = 0; i < count; i++) {
+            rows.add(new Object[]{ownerId, values[random.nextInt(values.length)]});
+        }
+    }
+}
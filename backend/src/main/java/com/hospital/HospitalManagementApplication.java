@@ -2,8 +2,10 @@ package com.hospital;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class HospitalManagementApplication {
     public static void main(String[] args) {
         SpringApplication.run(HospitalManagementApplication.class, args);
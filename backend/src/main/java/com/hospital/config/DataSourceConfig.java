@@ -0,0 +1,34 @@
+package com.hospital.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Puts a {@link ReservePoolDataSource} in front of the auto-configured Hikari
+ * pool. The reserve copies the main pool's settings except its size and
+ * opens no connections until a thread first nests one.
+ */
+@Configuration
+public class DataSourceConfig {
+
+    @Bean
+    static BeanPostProcessor reservePoolPostProcessor(@Value("${datasource.reserve-pool-size:4}") int reservePoolSize) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof HikariDataSource main) || reservePoolSize <= 0) {
+                    return bean;
+                }
+                HikariDataSource reserve = new HikariDataSource();
+                main.copyStateTo(reserve);
+                reserve.setPoolName((main.getPoolName() != null ? main.getPoolName() : "HikariPool") + "-reserve");
+                reserve.setMaximumPoolSize(reservePoolSize);
+                reserve.setMinimumIdle(0);
+                return new ReservePoolDataSource(main, reserve);
+            }
+        };
+    }
+}
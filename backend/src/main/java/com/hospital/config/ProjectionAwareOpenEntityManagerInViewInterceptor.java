@@ -0,0 +1,56 @@
+package com.hospital.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.orm.jpa.support.OpenEntityManagerInViewInterceptor;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+import java.util.List;
+
+/**
+ * Keeps an EntityManager open for the whole request, except for GETs on the
+ * given projection paths. Those run their single query in the repository's
+ * own transaction and release the connection before the response is written.
+ */
+public class ProjectionAwareOpenEntityManagerInViewInterceptor extends OpenEntityManagerInViewInterceptor {
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final List<String> projectionPaths;
+
+    public ProjectionAwareOpenEntityManagerInViewInterceptor(List<String> projectionPaths) {
+        this.projectionPaths = projectionPaths;
+    }
+
+    @Override
+    public void preHandle(WebRequest request) {
+        if (!isProjectionRead(request)) {
+            super.preHandle(request);
+        }
+    }
+
+    @Override
+    public void afterCompletion(WebRequest request, Exception ex) {
+        if (!isProjectionRead(request)) {
+            super.afterCompletion(request, ex);
+        }
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(WebRequest request) {
+        if (!isProjectionRead(request)) {
+            super.afterConcurrentHandlingStarted(request);
+        }
+    }
+
+    private boolean isProjectionRead(WebRequest request) {
+        if (!(request instanceof ServletWebRequest servletRequest)) {
+            return false;
+        }
+        HttpServletRequest http = servletRequest.getRequest();
+        if (!"GET".equals(http.getMethod())) {
+            return false;
+        }
+        String path = http.getRequestURI().substring(http.getContextPath().length());
+        return projectionPaths.stream().anyMatch(pattern -> pathMatcher.match(pattern, path));
+    }
+}
@@ -0,0 +1,155 @@
+package com.hospital.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request SQL budget. Every statement is checked as it is prepared: a
+ * statement shape repeated query.budget.repeat-threshold times is marked
+ * as a likely N+1 together with the code that issued it, and with
+ * query.budget.fail-on-regression the statement that takes an endpoint
+ * past its recorded baseline fails the request. At the end of the request
+ * anything over budget is logged.
+ *
+ * Baselines map "Controller.method" to the highest statement count seen.
+ * Setting query.budget.record-to writes the observed maxima, merged with the
+ * loaded baseline, on shutdown. The checked-in file is recorded from
+ * QueryBaselineRegressionTest alone, starting from an empty baseline so
+ * the result depends only on that run:
+ *     mvn test -Dtest=QueryBaselineRegressionTest -Dquery.budget.baseline= \
+ *         -Dquery.budget.record-to=src/main/resources/query-baseline.properties
+ */
+@Component
+public class QueryBudget {
+    private static final Logger logger = LoggerFactory.getLogger(QueryBudget.class);
+
+    private static final StackWalker STACK_WALKER = StackWalker.getInstance();
+
+    @Autowired
+    private ResourceLoader resourceLoader;
+
+    @Value("${query.budget.statements:25}")
+    private int statementBudget;
+
+    @Value("${query.budget.db-time-ms:250}")
+    private long dbTimeBudgetMs;
+
+    @Value("${query.budget.repeat-threshold:5}")
+    private int repeatThreshold;
+
+    @Value("${query.budget.fail-on-regression:false}")
+    private boolean failOnRegression;
+
+    @Value("${query.budget.baseline:classpath:query-baseline.properties}")
+    private String baselineLocation;
+
+    @Value("${query.budget.record-to:}")
+    private String recordTo;
+
+    private final Map<String, Integer> baseline = new ConcurrentHashMap<>();
+    private final Map<String, Integer> observed = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void loadBaseline() throws IOException {
+        if (baselineLocation.isBlank()) {
+            return;
+        }
+        Resource resource = resourceLoader.getResource(baselineLocation);
+        if (!resource.exists()) {
+            return;
+        }
+        Properties properties = new Properties();
+        try (InputStream in = resource.getInputStream()) {
+            properties.load(in);
+        }
+        properties.forEach((handler, count) -> baseline.put((String) handler, Integer.parseInt(((String) count).trim())));
+        logger.info("Loaded statement baselines for {} endpoints", baseline.size());
+    }
+
+    @PreDestroy
+    void recordBaseline() throws IOException {
+        if (recordTo.isBlank() || observed.isEmpty()) {
+            return;
+        }
+        Map<String, Integer> merged = new TreeMap<>(baseline);
+        observed.forEach((handler, count) -> merged.merge(handler, count, Math::max));
+        StringBuilder file = new StringBuilder("# Highest SQL statement count per request, by Controller.method\n");
+        merged.forEach((handler, count) -> file.append(handler).append('=').append(count).append('\n'));
+        Path target = Path.of(recordTo);
+        if (target.getParent() != null) {
+            Files.createDirectories(target.getParent());
+        }
+        Files.writeString(target, file);
+        logger.info("Recorded statement baselines for {} endpoints to {}", merged.size(), target.toAbsolutePath());
+    }
+
+    /**
+     * Called by the statement inspector for every statement Hibernate
+     * prepares on a request thread.
+     */
+    void onStatement(String sql) {
+        RequestQueryStats stats = RequestQueryStats.current();
+        if (stats == null) {
+            return;
+        }
+        if (stats.statementPrepared(sql) == repeatThreshold) {
+            stats.repeatedShape(sql, callSite());
+        }
+        if (failOnRegression) {
+            Integer allowed = baseline.get(stats.getHandler());
+            if (allowed != null && stats.getStatements() > allowed) {
+                throw new QueryBudgetExceededException(stats.getHandler() + " prepared " + stats.getStatements()
+                        + " statements, over its baseline of " + allowed + "; latest from " + callSite() + ": " + sql);
+            }
+        }
+    }
+
+    void onRequestEnd(RequestQueryStats stats, String method, String uri) {
+        if (!recordTo.isBlank()) {
+            observed.merge(stats.getHandler(), stats.getStatements(), Math::max);
+        }
+
+        long dbTimeMs = TimeUnit.NANOSECONDS.toMillis(stats.getDbNanos());
+        boolean overBudget = stats.getStatements() > statementBudget || dbTimeMs > dbTimeBudgetMs;
+        if (!overBudget && stats.getRepeatedShapes().isEmpty()) {
+            return;
+        }
+        if (overBudget) {
+            logger.warn("{} {} ({}) over SQL budget: {} statements, {} ms in the database, {} entities, {} collections",
+                    method, uri, stats.getHandler(), stats.getStatements(), dbTimeMs,
+                    stats.getEntityLoads(), stats.getCollectionFetches());
+        }
+        stats.getRepeatedShapes().forEach((sql, site) ->
+                logger.warn("{} {} ({}) likely N+1: statement prepared {} times, from {}: {}",
+                        method, uri, stats.getHandler(), stats.timesPrepared(sql), site, sql));
+    }
+
+    // Nearest application frame below the instrumentation and servlet filters; lazy loads during serialization have none
+    private static String callSite() {
+        return STACK_WALKER.walk(frames -> frames
+                .filter(frame -> frame.getClassName().startsWith("com.hospital.")
+                        && !frame.getClassName().startsWith("com.hospital.config.")
+                        && !frame.getClassName().endsWith("Filter"))
+                .findFirst()
+                .map(frame -> frame.getClassName().substring("com.hospital.".length()) + "."
+                        + frame.getMethodName() + ":" + frame.getLineNumber())
+                .orElse("response serialization"));
+    }
+}
@@ -0,0 +1,21 @@
+package com.hospital.config;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+/**
+ * Answers a request stopped by query.budget.fail-on-regression with 500 and
+ * the budget message, in the request's own dispatch. Left to the error page,
+ * the failure would reach the client as a 401 because the error dispatch
+ * carries no token.
+ */
+@RestControllerAdvice
+public class QueryBudgetExceptionHandler {
+
+    @ExceptionHandler(QueryBudgetExceededException.class)
+    public ResponseEntity<String> handleQueryBudgetExceeded(QueryBudgetExceededException e) {
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Error: " + e.getMessage());
+    }
+}
@@ -0,0 +1,77 @@
+package com.hospital.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records how much Hibernate work each controller method causes, including
+ * lazy loads during response serialization, as meters tagged with the
+ * controller and method, and hands the totals to the {@link QueryBudget}.
+ */
+public class QueryStatsInterceptor implements AsyncHandlerInterceptor {
+
+    private final MeterRegistry meterRegistry;
+    private final QueryBudget queryBudget;
+
+    public QueryStatsInterceptor(MeterRegistry meterRegistry, QueryBudget queryBudget) {
+        this.meterRegistry = meterRegistry;
+        this.queryBudget = queryBudget;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod method) {
+            RequestQueryStats.begin(method.getBeanType().getSimpleName() + "." + method.getMethod().getName());
+        }
+        return true;
+    }
+
+    // Streaming exports continue on another thread; only the part on the request thread is counted
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        record(request, handler);
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        record(request, handler);
+    }
+
+    private void record(HttpServletRequest request, Object handler) {
+        RequestQueryStats stats = RequestQueryStats.end();
+        if (stats == null || !(handler instanceof HandlerMethod method)) {
+            return;
+        }
+        String controller = method.getBeanType().getSimpleName();
+        String action = method.getMethod().getName();
+        summary("hibernate.request.statements", "SQL statements prepared per request", controller, action)
+                .record(stats.getStatements());
+        summary("hibernate.request.entity.loads", "Entities loaded per request", controller, action)
+                .record(stats.getEntityLoads());
+        summary("hibernate.request.collection.fetches", "Collections initialized per request", controller, action)
+                .record(stats.getCollectionFetches());
+        Timer.builder("hibernate.request.db.time")
+                .description("Time spent executing SQL per request")
+                .tag("controller", controller)
+                .tag("method", action)
+                .register(meterRegistry)
+                .record(stats.getDbNanos(), TimeUnit.NANOSECONDS);
+
+        queryBudget.onRequestEnd(stats, request.getMethod(), request.getRequestURI());
+    }
+
+    private DistributionSummary summary(String name, String description, String controller, String action) {
+        return DistributionSummary.builder(name)
+                .description(description)
+                .tag("controller", controller)
+                .tag("method", action)
+                .register(meterRegistry);
+    }
+}
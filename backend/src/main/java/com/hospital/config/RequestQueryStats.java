@@ -0,0 +1,128 @@
+package com.hospital.config;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+/**
+ * Hibernate work done by the current request: SQL statements prepared,
+ * time spent executing them, entities loaded and lazy collections
+ * initialized, plus how often each distinct statement was prepared.
+ * Counters live on the request thread and only exist between begin() and
+ * end(), so startup warmups and scheduled jobs are not counted. Work the
+ * request hands to another thread and waits for is counted through
+ * {@link #handOff()}.
+ */
+public final class RequestQueryStats {
+    private static final ThreadLocal<RequestQueryStats> CURRENT = new ThreadLocal<>();
+
+    private final String handler;
+    private final Map<String, Integer> shapes = new HashMap<>();
+    private final Map<String, String> repeatedShapes = new LinkedHashMap<>();
+    private int statements;
+    private long dbNanos;
+    private int entityLoads;
+    private int collectionFetches;
+
+    private RequestQueryStats(String handler) {
+        this.handler = handler;
+    }
+
+    static void begin(String handler) {
+        CURRENT.set(new RequestQueryStats(handler));
+    }
+
+    static RequestQueryStats end() {
+        RequestQueryStats stats = CURRENT.get();
+        CURRENT.remove();
+        return stats;
+    }
+
+    public static RequestQueryStats current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * A copy of the current request's counters for work it runs on another
+     * thread while it waits, such as a login on the LoginLane. The worker
+     * counts into the copy through {@link #callAs}, and the request takes it
+     * over with {@link #adopt} once the work has finished, so work the
+     * request gave up waiting for never touches counters it already recorded.
+     */
+    public static RequestQueryStats handOff() {
+        RequestQueryStats stats = CURRENT.get();
+        return stats == null ? null : stats.copy();
+    }
+
+    public static <T> T callAs(RequestQueryStats stats, Callable<T> work) throws Exception {
+        if (stats == null) {
+            return work.call();
+        }
+        CURRENT.set(stats);
+        try {
+            return work.call();
+        } finally {
+            CURRENT.remove();
+        }
+    }
+
+    public static void adopt(RequestQueryStats stats) {
+        if (stats != null) {
+            CURRENT.set(stats);
+        }
+    }
+
+    private RequestQueryStats copy() {
+        RequestQueryStats copy = new RequestQueryStats(handler);
+        copy.shapes.putAll(shapes);
+        copy.repeatedShapes.putAll(repeatedShapes);
+        copy.statements = statements;
+        copy.dbNanos = dbNanos;
+        copy.entityLoads = entityLoads;
+        copy.collectionFetches = collectionFetches;
+        return copy;
+    }
+
+    // Hibernate renders parameters as placeholders, so the SQL string is the statement's shape
+    int statementPrepared(String sql) {
+        statements++;
+        return shapes.merge(sql, 1, Integer::sum);
+    }
+
+    void repeatedShape(String sql, String callSite) {
+        repeatedShapes.put(sql, callSite);
+    }
+
+    static void statementExecuted(long nanos) {
+        RequestQueryStats stats = CURRENT.get();
+        if (stats != null) {
+            stats.dbNanos += nanos;
+        }
+    }
+
+    static void entityLoaded() {
+        RequestQueryStats stats = CURRENT.get();
+        if (stats != null) {
+            stats.entityLoads++;
+        }
+    }
+
+    static void collectionFetched() {
+        RequestQueryStats stats = CURRENT.get();
+        if (stats != null) {
+            stats.collectionFetches++;
+        }
+    }
+
+    public int timesPrepared(String sql) {
+        return shapes.getOrDefault(sql, 0);
+    }
+
+    public String getHandler() { return handler; }
+    public int getStatements() { return statements; }
+    public long getDbNanos() { return dbNanos; }
+    public int getEntityLoads() { return entityLoads; }
+    public int getCollectionFetches() { return collectionFetches; }
+    public Map<String, String> getRepeatedShapes() { return repeatedShapes; }
+}
@@ -0,0 +1,78 @@
+package com.hospital.config;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Serves a thread that already holds a connection from a small reserve pool
+ * instead of the main one. On MySQL each id sequence is a table, and
+ * Hibernate fetches the next block of ids on a second connection while the
+ * inserting transaction keeps its first; saves that reach the end of the
+ * block in the meantime wait for that fetch. Once every main connection
+ * belonged to such a waiter the fetch could never get one, and all inserts
+ * in flight failed after the Hikari connection timeout. Nested work never
+ * nests again, so the reserve always drains.
+ */
+public class ReservePoolDataSource extends DelegatingDataSource implements Closeable {
+
+    private final DataSource reserve;
+
+    // Connections the current thread holds, counting both pools
+    private final ThreadLocal<int[]> held = ThreadLocal.withInitial(() -> new int[1]);
+
+    public ReservePoolDataSource(DataSource main, DataSource reserve) {
+        super(main);
+        this.reserve = reserve;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        int[] count = held.get();
+        Connection connection = count[0] == 0 ? obtainTargetDataSource().getConnection() : reserve.getConnection();
+        count[0]++;
+        return track(connection, count);
+    }
+
+    // Decrements the owning thread's count once, on the first close
+    private Connection track(Connection connection, int[] count) {
+        boolean[] closed = new boolean[1];
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[] {Connection.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("equals")) {
+                        return proxy == args[0];
+                    }
+                    if (method.getName().equals("hashCode")) {
+                        return System.identityHashCode(proxy);
+                    }
+                    if (method.getName().equals("close") && !closed[0]) {
+                        closed[0] = true;
+                        count[0]--;
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getTargetException();
+                    }
+                });
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            if (reserve instanceof Closeable closeable) {
+                closeable.close();
+            }
+        } finally {
+            if (getTargetDataSource() instanceof Closeable closeable) {
+                closeable.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.hospital.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import java.util.List;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    // GET endpoints served from summary projections; they never touch a lazy association
+    private static final List<String> PROJECTION_PATHS = List.of(
+            "/api/patients", "/api/patients/search",
+            "/api/bills", "/api/bills/patient/*", "/api/bills/patient/*/balance", "/api/bills/outstanding",
+            "/api/bills/revenue/*", "/api/bills/status-totals",
+            "/doctors", "/doctors/department/*", "/doctors/specialization/*",
+            "/appointments", "/appointments/patient/*", "/appointments/doctor/*", "/appointments/today",
+            "/medical-records", "/medical-records/patient/*", "/medical-records/doctor/*",
+            "/autocomplete/*"
+    );
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private QueryBudget queryBudget;
+
+    // Replaces Boot's open-in-view (spring.jpa.open-in-view=false) so it can skip projection reads
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        ProjectionAwareOpenEntityManagerInViewInterceptor interceptor =
+                new ProjectionAwareOpenEntityManagerInViewInterceptor(PROJECTION_PATHS);
+        interceptor.setEntityManagerFactory(entityManagerFactory);
+        registry.addWebRequestInterceptor(interceptor);
+        registry.addInterceptor(new QueryStatsInterceptor(meterRegistry, queryBudget));
+    }
+}
@@ -1,12 +1,27 @@
 package com.hospital.controller;
 
 import com.hospital.dto.AppointmentRequest;
+import com.hospital.dto.AppointmentSeriesRequest;
+import com.hospital.dto.AppointmentSummary;
+import com.hospital.dto.AppointmentTrendPoint;
+import com.hospital.dto.CursorPage;
 import com.hospital.entity.Appointment;
+import com.hospital.service.AppointmentConflictException;
+import com.hospital.service.AppointmentRollupService;
 import com.hospital.service.AppointmentService;
+import com.hospital.service.ExportFormat;
+import com.hospital.service.ExportService;
+import com.hospital.service.ResourceVersionService;
+import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import java.time.LocalDate;
 import java.util.List;
 
 @CrossOrigin(origins = "*", maxAge = 3600)
@@ -17,49 +32,145 @@ public class AppointmentController {
     @Autowired
     private AppointmentService appointmentService;
 
+    @Autowired
+    private ExportService exportService;
+
+    @Autowired
+    private ResourceVersionService resourceVersionService;
+
+    @Autowired
+    private AppointmentRollupService appointmentRollupService;
+
     @GetMapping
     @PreAuthorize("hasRole('ADMIN') or hasRole('DOCTOR')")
-    public List<Appointment> getAllAppointments() {
-        return appointmentService.getAllAppointments();
+    public ResponseEntity<CursorPage<AppointmentSummary>> getAllAppointments(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(defaultValue = "false") boolean includeTotal,
+            WebRequest request) {
+        try {
+            return ConditionalGet.collection(request, resourceVersionService.appointments(),
+                    () -> ResponseEntity.ok(appointmentService.getAppointmentsPage(cursor, size, includeTotal)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping("/export")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportAppointments(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        ExportFormat exportFormat;
+        try {
+            exportFormat = ExportFormat.fromParam(format);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        StreamingResponseBody body = out -> exportService.exportAppointments(out, exportFormat, gzip);
+        return ResponseEntity.ok().headers(exportFormat.responseHeaders("appointments", gzip)).body(body);
+    }
+
+    // Defaults to the last 90 days; groupBy takes any of department,doctor,status
+    @GetMapping("/trends")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> getAppointmentTrends(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "day") String interval,
+            @RequestParam(required = false) String groupBy,
+            @RequestParam(required = false) String department,
+            @RequestParam(required = false) Long doctorId,
+            @RequestParam(required = false) String status) {
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusDays(89);
+        try {
+            List<AppointmentTrendPoint> trend = appointmentRollupService.getTrend(start, end, interval, groupBy,
+                    department, doctorId, status);
+            return ResponseEntity.ok(trend);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("Error: " + e.getMessage());
+        }
+    }
+
+    @PostMapping("/trends/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> rebuildAppointmentTrends(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        try {
+            if (from == null && to == null) {
+                appointmentRollupService.rebuildAll();
+                return ResponseEntity.ok().build();
+            }
+            if (from == null || to == null) {
+                return ResponseEntity.badRequest().body("Error: from and to must be given together");
+            }
+            return ResponseEntity.ok(appointmentRollupService.rebuild(from, to));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("Error: " + e.getMessage());
+        }
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Appointment> getAppointmentById(@PathVariable Long id) {
-        return appointmentService.getAppointmentById(id)
-                .map(appointment -> ResponseEntity.ok().body(appointment))
-                .orElse(ResponseEntity.notFound().build());
+    public ResponseEntity<Appointment> getAppointmentById(@PathVariable Long id, WebRequest request) {
+        return ConditionalGet.resource(request, resourceVersionService.appointment(id).orElse(null),
+                () -> appointmentService.getAppointmentById(id)
+                        .map(appointment -> ResponseEntity.ok().body(appointment))
+                        .orElse(ResponseEntity.notFound().build()));
     }
 
     @GetMapping("/patient/{patientId}")
     @PreAuthorize("hasRole('ADMIN') or hasRole('DOCTOR') or (hasRole('PATIENT') and #patientId == authentication.principal.id)")
-    public List<Appointment> getAppointmentsByPatient(@PathVariable Long patientId) {
-        return appointmentService.getAppointmentsByPatient(patientId);
+    public ResponseEntity<List<AppointmentSummary>> getAppointmentsByPatient(@PathVariable Long patientId, WebRequest request) {
+        return ConditionalGet.collection(request, resourceVersionService.appointmentsByPatient(patientId),
+                () -> ResponseEntity.ok(appointmentService.getAppointmentsByPatient(patientId)));
     }
 
     @GetMapping("/doctor/{doctorId}")
     @PreAuthorize("hasRole('ADMIN') or (hasRole('DOCTOR') and #doctorId == authentication.principal.id)")
-    public List<Appointment> getAppointmentsByDoctor(@PathVariable Long doctorId) {
-        return appointmentService.getAppointmentsByDoctor(doctorId);
+    public ResponseEntity<List<AppointmentSummary>> getAppointmentsByDoctor(@PathVariable Long doctorId, WebRequest request) {
+        return ConditionalGet.collection(request, resourceVersionService.appointmentsByDoctor(doctorId),
+                () -> ResponseEntity.ok(appointmentService.getAppointmentsByDoctor(doctorId)));
     }
 
     @GetMapping("/today")
     @PreAuthorize("hasRole('ADMIN') or hasRole('DOCTOR')")
-    public List<Appointment> getTodayAppointments() {
-        return appointmentService.getTodayAppointments();
+    public ResponseEntity<List<AppointmentSummary>> getTodayAppointments(WebRequest request) {
+        return ConditionalGet.collection(request, resourceVersionService.appointmentsOn(LocalDate.now()),
+                () -> ResponseEntity.ok(appointmentService.getTodayAppointments()));
     }
 
     @PostMapping("/patient/{patientId}")
     @PreAuthorize("hasRole('ADMIN') or (hasRole('PATIENT') and #patientId == authentication.principal.id)")
-    public Appointment createAppointment(@PathVariable Long patientId, @RequestBody AppointmentRequest request) {
-        return appointmentService.createAppointment(patientId, request);
+    public ResponseEntity<?> createAppointment(@PathVariable Long patientId, @RequestBody AppointmentRequest request) {
+        try {
+            return ResponseEntity.ok(appointmentService.createAppointment(patientId, request));
+        } catch (AppointmentConflictException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body("Error: " + e.getMessage());
+        }
+    }
+
+    @PostMapping("/patient/{patientId}/series")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('DOCTOR') or (hasRole('PATIENT') and #patientId == authentication.principal.id)")
+    public ResponseEntity<?> createAppointmentSeries(@PathVariable Long patientId, @Valid @RequestBody AppointmentSeriesRequest request) {
+        try {
+            return ResponseEntity.status(HttpStatus.CREATED).body(appointmentService.createAppointmentSeries(patientId, request));
+        } catch (AppointmentConflictException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body("Error: " + e.getMessage());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("Error: " + e.getMessage());
+        }
     }
 
     @PutMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN') or hasRole('DOCTOR')")
-    public ResponseEntity<Appointment> updateAppointment(@PathVariable Long id, @RequestBody Appointment appointmentDetails) {
+    public ResponseEntity<?> updateAppointment(@PathVariable Long id, @RequestBody Appointment appointmentDetails) {
         try {
             Appointment updatedAppointment = appointmentService.updateAppointment(id, appointmentDetails);
             return ResponseEntity.ok(updatedAppointment);
+        } catch (AppointmentConflictException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body("Error: " + e.getMessage());
         } catch (RuntimeException e) {
             return ResponseEntity.notFound().build();
         }
@@ -0,0 +1,33 @@
+package com.hospital.controller;
+
+import com.hospital.dto.Suggestion;
+import com.hospital.service.ClinicalVocabularyService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@CrossOrigin(origins = "*", maxAge = 3600)
+@RestController
+@RequestMapping("/autocomplete")
+public class AutocompleteController {
+
+    @Autowired
+    private ClinicalVocabularyService clinicalVocabularyService;
+
+    @GetMapping("/{vocabulary}")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('DOCTOR')")
+    public ResponseEntity<List<Suggestion>> complete(
+            @PathVariable String vocabulary,
+            @RequestParam(defaultValue = "") String prefix,
+            @RequestParam(defaultValue = "10") int limit) {
+        try {
+            ClinicalVocabularyService.Vocabulary target = ClinicalVocabularyService.Vocabulary.fromParam(vocabulary);
+            return ResponseEntity.ok(clinicalVocabularyService.complete(target, prefix, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.hospital.controller;
+
+import com.hospital.dto.AvailableSlot;
+import com.hospital.service.AvailabilityService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Map;
+
+@CrossOrigin(origins = "*", maxAge = 3600)
+@RestController
+@RequestMapping("/availability")
+public class AvailabilityController {
+
+    @Autowired
+    private AvailabilityService availabilityService;
+
+    @GetMapping("/doctor/{doctorId}")
+    public Map<LocalDate, List<LocalTime>> getFreeSlots(
+            @PathVariable Long doctorId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(defaultValue = "7") int days) {
+        return availabilityService.getFreeSlots(doctorId, from != null ? from : LocalDate.now(), days);
+    }
+
+    @GetMapping("/department/{department}/earliest")
+    public ResponseEntity<AvailableSlot> getEarliestInDepartment(
+            @PathVariable String department,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from) {
+        AvailableSlot slot = availabilityService.findEarliestInDepartment(department, from != null ? from : LocalDate.now());
+        return slot != null ? ResponseEntity.ok(slot) : ResponseEntity.notFound().build();
+    }
+}
@@ -1,10 +1,23 @@
 package com.hospital.controller;
 
+import com.hospital.dto.BillRequest;
+import com.hospital.dto.BillSummary;
+import com.hospital.dto.BillTotal;
+import com.hospital.dto.CursorPage;
+import com.hospital.dto.PatientBalance;
 import com.hospital.entity.Bill;
+import com.hospital.entity.BillingRun;
 import com.hospital.service.BillService;
+import com.hospital.service.BillingRunInProgressException;
+import com.hospital.service.BillingRunService;
+import jakarta.validation.Valid;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -13,17 +26,112 @@ import java.util.List;
 public class BillController {
 
     private final BillService billService;
+    private final BillingRunService billingRunService;
 
-    public BillController(BillService billService) {
+    public BillController(BillService billService, BillingRunService billingRunService) {
         this.billService = billService;
+        this.billingRunService = billingRunService;
     }
 
     @GetMapping
-    public List<Bill> getAllBills() {
-        return billService.getAllBills();
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<CursorPage<BillSummary>> getAllBills(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+        try {
+            return ResponseEntity.ok(billService.getBillsPage(cursor, size, includeTotal));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping("/patient/{patientId}")
+    @PreAuthorize("hasRole('ADMIN') or (hasRole('PATIENT') and #patientId == authentication.principal.id)")
+    public ResponseEntity<CursorPage<BillSummary>> getBillsByPatient(
+            @PathVariable Long patientId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+        try {
+            return ResponseEntity.ok(billService.getBillsByPatientPage(patientId, cursor, size, includeTotal));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    @GetMapping("/patient/{patientId}/balance")
+    @PreAuthorize("hasRole('ADMIN') or (hasRole('PATIENT') and #patientId == authentication.principal.id)")
+    public ResponseEntity<PatientBalance> getPatientBalance(@PathVariable Long patientId) {
+        return billService.getPatientBalance(patientId)
+            .map(ResponseEntity::ok)
+            .orElse(ResponseEntity.notFound().build());
+    }
+
+    // Patients with the largest outstanding balances first
+    @GetMapping("/outstanding")
+    @PreAuthorize("hasRole('ADMIN')")
+    public List<PatientBalance> getLargestBalances(@RequestParam(required = false) Integer size) {
+        return billService.getLargestBalances(size);
+    }
+
+    @GetMapping("/revenue/daily")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> getDailyRevenue(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "PAID") Bill.Status status) {
+        try {
+            List<BillTotal> revenue = billService.getRevenueByDate(status, from, to);
+            return ResponseEntity.ok(revenue);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("Error: " + e.getMessage());
+        }
+    }
+
+    @GetMapping("/revenue/departments")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> getDepartmentRevenue(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "PAID") Bill.Status status) {
+        try {
+            List<BillTotal> revenue = billService.getRevenueByDepartment(status, from, to);
+            return ResponseEntity.ok(revenue);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("Error: " + e.getMessage());
+        }
+    }
+
+    @GetMapping("/status-totals")
+    @PreAuthorize("hasRole('ADMIN')")
+    public List<BillTotal> getStatusTotals() {
+        return billService.getStatusTotals();
+    }
+
+    // Bills the day's completed appointments now; safe to repeat
+    @PostMapping("/runs/{date}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> runBilling(@PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        try {
+            return ResponseEntity.ok(billingRunService.run(date));
+        } catch (BillingRunInProgressException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body("Error: " + e.getMessage());
+        }
+    }
+
+    @GetMapping("/runs/{date}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<BillingRun> getBillingRun(@PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        return billingRunService.getRun(date)
+            .map(ResponseEntity::ok)
+            .orElse(ResponseEntity.notFound().build());
     }
 
     @GetMapping("/{id}")
+    @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<Bill> getBillById(@PathVariable Long id) {
         return billService.getBillById(id)
             .map(ResponseEntity::ok)
@@ -31,14 +139,20 @@ public class BillController {
     }
 
     @PostMapping
-    public Bill createBill(@RequestBody Bill bill) {
-        return billService.createBill(bill);
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> createBill(@Valid @RequestBody BillRequest request) {
+        try {
+            return ResponseEntity.ok(billService.createBill(request));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body("Error: " + e.getMessage());
+        }
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<Bill> updateBill(@PathVariable Long id, @RequestBody Bill bill) {
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Bill> updateBill(@PathVariable Long id, @Valid @RequestBody BillRequest request) {
         try {
-            Bill updated = billService.updateBill(id, bill);
+            Bill updated = billService.updateBill(id, request);
             return ResponseEntity.ok(updated);
         } catch (RuntimeException e) {
             return ResponseEntity.notFound().build();
@@ -46,6 +160,7 @@ public class BillController {
     }
 
     @DeleteMapping("/{id}")
+    @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<Void> deleteBill(@PathVariable Long id) {
         billService.deleteBill(id);
         return ResponseEntity.noContent().build();
@@ -0,0 +1,66 @@
+package com.hospital.controller;
+
+import com.hospital.dto.ResourceVersion;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.ZoneId;
+import java.util.function.Supplier;
+
+/**
+ * Answers If-None-Match / If-Modified-Since from a {@link ResourceVersion}
+ * before the body is loaded, and stamps the validators on full responses.
+ */
+final class ConditionalGet {
+
+    private ConditionalGet() {}
+
+    /**
+     * Single resources send ETag and Last-Modified. A missing version means
+     * the resource does not exist, so the loader decides the response.
+     */
+    static <T> ResponseEntity<T> resource(WebRequest request, ResourceVersion version, Supplier<ResponseEntity<T>> loader) {
+        if (version == null) {
+            return loader.get();
+        }
+        return respond(request, version, epochMillis(version), loader);
+    }
+
+    /**
+     * Collections send only an ETag: a delete lowers the row count without
+     * moving max(updated_at), which a Last-Modified date could not express.
+     */
+    static <T> ResponseEntity<T> collection(WebRequest request, ResourceVersion version, Supplier<ResponseEntity<T>> loader) {
+        return respond(request, version, -1, loader);
+    }
+
+    private static <T> ResponseEntity<T> respond(WebRequest request, ResourceVersion version, long lastModified,
+                                                 Supplier<ResponseEntity<T>> loader) {
+        String etag = etag(version);
+        if (request.checkNotModified(etag, lastModified)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
+        ResponseEntity<T> response = loader.get();
+        if (!response.getStatusCode().is2xxSuccessful()) {
+            return response;
+        }
+        ResponseEntity.BodyBuilder builder = ResponseEntity.status(response.getStatusCode())
+                .headers(response.getHeaders())
+                .eTag(etag);
+        if (lastModified >= 0) {
+            builder.lastModified(lastModified);
+        }
+        return builder.body(response.getBody());
+    }
+
+    private static String etag(ResourceVersion version) {
+        return "W/\"" + Long.toHexString(version.getCount()) + "-" + Long.toHexString(epochMillis(version)) + "\"";
+    }
+
+    private static long epochMillis(ResourceVersion version) {
+        return version.getLastModified() != null
+                ? version.getLastModified().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()
+                : 0;
+    }
+}
@@ -1,16 +1,18 @@
 package com.hospital.controller;
 
 import com.hospital.entity.Doctor;
+import com.hospital.service.DoctorDirectoryService;
 import com.hospital.service.DoctorService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-
 @CrossOrigin(origins = "*", maxAge = 3600)
 @RestController
 @RequestMapping("/doctors")
@@ -19,9 +21,13 @@ public class DoctorController {
     @Autowired
     private DoctorService doctorService;
 
+    @Autowired
+    private DoctorDirectoryService doctorDirectoryService;
+
     @GetMapping
-    public List<Doctor> getAllDoctors() {
-        return doctorService.getAllDoctors();
+    public ResponseEntity<byte[]> getAllDoctors(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return directoryResponse(doctorDirectoryService.all(), acceptEncoding);
     }
 
     @GetMapping("/{id}")
@@ -35,13 +41,17 @@ public class DoctorController {
     }
 
     @GetMapping("/department/{department}")
-    public List<Doctor> getDoctorsByDepartment(@PathVariable String department) {
-        return doctorService.getDoctorsByDepartment(department);
+    public ResponseEntity<byte[]> getDoctorsByDepartment(
+            @PathVariable String department,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return directoryResponse(doctorDirectoryService.byDepartment(department), acceptEncoding);
     }
 
     @GetMapping("/specialization/{specialization}")
-    public List<Doctor> getDoctorsBySpecialization(@PathVariable String specialization) {
-        return doctorService.getDoctorsBySpecialization(specialization);
+    public ResponseEntity<byte[]> getDoctorsBySpecialization(
+            @PathVariable String specialization,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return directoryResponse(doctorDirectoryService.bySpecialization(specialization), acceptEncoding);
     }
 
     @PostMapping
@@ -73,4 +83,17 @@ public class DoctorController {
             return ResponseEntity.notFound().build();
         }
     }
+
+    // Spring answers If-None-Match with 304 from the ETag set here
+    private ResponseEntity<byte[]> directoryResponse(DoctorDirectoryService.View view, String acceptEncoding) {
+        boolean gzip = acceptEncoding != null && acceptEncoding.contains("gzip");
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .cacheControl(CacheControl.noCache().cachePublic())
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            return response.eTag(view.getGzipEtag()).header(HttpHeaders.CONTENT_ENCODING, "gzip").body(view.getGzip());
+        }
+        return response.eTag(view.getEtag()).body(view.getJson());
+    }
 }
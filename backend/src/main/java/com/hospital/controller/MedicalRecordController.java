@@ -1,46 +1,91 @@
 package com.hospital.controller;
 
+import com.hospital.dto.CursorPage;
 import com.hospital.dto.MedicalRecordRequest;
+import com.hospital.dto.MedicalRecordSummary;
 import com.hospital.entity.MedicalRecord;
 import com.hospital.service.MedicalRecordService;
+import com.hospital.service.ExportFormat;
+import com.hospital.service.ExportService;
+import com.hospital.service.ResourceVersionService;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import java.util.List;
 
 @CrossOrigin(origins = "*", maxAge = 3600)
 @RestController
 @RequestMapping("/medical-records")
+@Validated
 public class MedicalRecordController {
 
     @Autowired
     private MedicalRecordService medicalRecordService;
 
+    @Autowired
+    private ExportService exportService;
+
+    @Autowired
+    private ResourceVersionService resourceVersionService;
+
     @GetMapping
     @PreAuthorize("hasRole('ADMIN') or hasRole('DOCTOR')")
-    public List<MedicalRecord> getAllMedicalRecords() {
-        return medicalRecordService.getAllMedicalRecords();
+    public ResponseEntity<CursorPage<MedicalRecordSummary>> getAllMedicalRecords(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(defaultValue = "false") boolean includeTotal,
+            WebRequest request) {
+        try {
+            return ConditionalGet.collection(request, resourceVersionService.medicalRecords(),
+                    () -> ResponseEntity.ok(medicalRecordService.getMedicalRecordsPage(cursor, size, includeTotal)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping("/export")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportMedicalRecords(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        ExportFormat exportFormat;
+        try {
+            exportFormat = ExportFormat.fromParam(format);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        StreamingResponseBody body = out -> exportService.exportMedicalRecords(out, exportFormat, gzip);
+        return ResponseEntity.ok().headers(exportFormat.responseHeaders("medical-records", gzip)).body(body);
     }
 
     @GetMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN') or hasRole('DOCTOR')")
-    public ResponseEntity<MedicalRecord> getMedicalRecordById(@PathVariable Long id) {
-        return medicalRecordService.getMedicalRecordById(id)
-                .map(record -> ResponseEntity.ok().body(record))
-                .orElse(ResponseEntity.notFound().build());
+    public ResponseEntity<MedicalRecord> getMedicalRecordById(@PathVariable Long id, WebRequest request) {
+        return ConditionalGet.resource(request, resourceVersionService.medicalRecord(id).orElse(null),
+                () -> medicalRecordService.getMedicalRecordById(id)
+                        .map(record -> ResponseEntity.ok().body(record))
+                        .orElse(ResponseEntity.notFound().build()));
     }
 
     @GetMapping("/patient/{patientId}")
     @PreAuthorize("hasRole('ADMIN') or hasRole('DOCTOR') or (hasRole('PATIENT') and #patientId == authentication.principal.id)")
-    public List<MedicalRecord> getMedicalRecordsByPatient(@PathVariable Long patientId) {
-        return medicalRecordService.getMedicalRecordsByPatient(patientId);
+    public ResponseEntity<List<MedicalRecordSummary>> getMedicalRecordsByPatient(@PathVariable Long patientId, WebRequest request) {
+        return ConditionalGet.collection(request, resourceVersionService.medicalRecordsByPatient(patientId),
+                () -> ResponseEntity.ok(medicalRecordService.getMedicalRecordsByPatient(patientId)));
     }
 
     @GetMapping("/doctor/{doctorId}")
     @PreAuthorize("hasRole('ADMIN') or (hasRole('DOCTOR') and #doctorId == authentication.principal.id)")
-    public List<MedicalRecord> getMedicalRecordsByDoctor(@PathVariable Long doctorId) {
-        return medicalRecordService.getMedicalRecordsByDoctor(doctorId);
+    public ResponseEntity<List<MedicalRecordSummary>> getMedicalRecordsByDoctor(@PathVariable Long doctorId, WebRequest request) {
+        return ConditionalGet.collection(request, resourceVersionService.medicalRecordsByDoctor(doctorId),
+                () -> ResponseEntity.ok(medicalRecordService.getMedicalRecordsByDoctor(doctorId)));
     }
 
     @PostMapping
@@ -49,6 +94,22 @@ public class MedicalRecordController {
         return medicalRecordService.createMedicalRecord(request);
     }
 
+    @PostMapping("/batch")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('DOCTOR')")
+    public ResponseEntity<?> createMedicalRecords(@RequestBody List<@Valid MedicalRecordRequest> requests) {
+        try {
+            return ResponseEntity.status(HttpStatus.CREATED).body(medicalRecordService.createMedicalRecords(requests));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("Error: " + e.getMessage());
+        }
+    }
+
+    // List elements are checked by method validation (@Validated), which reports violations this way
+    @ExceptionHandler(ConstraintViolationException.class)
+    public ResponseEntity<String> handleConstraintViolation(ConstraintViolationException e) {
+        return ResponseEntity.badRequest().body("Error: " + e.getMessage());
+    }
+
     @PutMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN') or hasRole('DOCTOR')")
     public ResponseEntity<MedicalRecord> updateMedicalRecord(@PathVariable Long id, @RequestBody MedicalRecord recordDetails) {
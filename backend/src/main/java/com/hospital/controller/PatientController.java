@@ -1,14 +1,18 @@
 package com.hospital.controller;
 
+import com.hospital.dto.CursorPage;
+import com.hospital.dto.PatientSearchPage;
+import com.hospital.dto.PatientSummary;
 import com.hospital.entity.Patient;
+import com.hospital.service.PatientSearchService;
 import com.hospital.service.PatientService;
+import com.hospital.service.ResourceVersionService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
-
-import java.util.List;
+import org.springframework.web.context.request.WebRequest;
 
 @CrossOrigin(origins = "*", maxAge = 3600)
 @RestController
@@ -18,24 +22,55 @@ public class PatientController {
     @Autowired
     private PatientService patientService;
 
+    @Autowired
+    private PatientSearchService patientSearchService;
+
+    @Autowired
+    private ResourceVersionService resourceVersionService;
+
     @GetMapping
     @PreAuthorize("hasRole('ADMIN') or hasRole('DOCTOR')")
-    public List<Patient> getAllPatients() {
-        return patientService.getAllPatients();
+    public ResponseEntity<CursorPage<PatientSummary>> getAllPatients(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(defaultValue = "false") boolean includeTotal,
+            WebRequest request) {
+        try {
+            return ConditionalGet.collection(request, resourceVersionService.patients(),
+                    () -> ResponseEntity.ok(patientService.getPatientsPage(cursor, size, includeTotal)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping("/search")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('DOCTOR')")
+    public ResponseEntity<PatientSearchPage> searchPatients(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "0") int offset,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(defaultValue = "true") boolean fuzzy) {
+        try {
+            return ResponseEntity.ok(patientSearchService.search(q, offset, size, fuzzy));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
     }
 
     @GetMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN') or hasRole('DOCTOR') or (hasRole('PATIENT') and #id == authentication.principal.id)")
-    public ResponseEntity<Patient> getPatientById(@PathVariable Long id) {
-        return patientService.getPatientById(id)
-                .map(ResponseEntity::ok)
-                .orElse(ResponseEntity.notFound().build());
+    public ResponseEntity<Patient> getPatientById(@PathVariable Long id, WebRequest request) {
+        return ConditionalGet.resource(request, resourceVersionService.patient(id).orElse(null),
+                () -> patientService.getPatientById(id)
+                        .map(ResponseEntity::ok)
+                        .orElse(ResponseEntity.notFound().build()));
     }
 
     @PostMapping
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<Patient> createPatient(@RequestBody Patient patient) {
-        System.out.println("🚀 Creating patient: " + patient.getFirstName() + " " + patient.getLastName());
         Patient savedPatient = patientService.savePatient(patient);
         return ResponseEntity.status(HttpStatus.CREATED).body(savedPatient);
     }
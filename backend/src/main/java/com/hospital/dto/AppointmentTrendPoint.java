@@ -0,0 +1,39 @@
+package com.hospital.dto;
+
+import java.time.LocalDate;
+
+// Dimensions not asked for in groupBy are null
+public class AppointmentTrendPoint {
+    private LocalDate periodStart;
+    private String department;
+    private Long doctorId;
+    private String status;
+    private long count;
+
+    // Constructors
+    public AppointmentTrendPoint() {}
+
+    public AppointmentTrendPoint(LocalDate periodStart, String department, Long doctorId, String status, long count) {
+        this.periodStart = periodStart;
+        this.department = department;
+        this.doctorId = doctorId;
+        this.status = status;
+        this.count = count;
+    }
+
+    // Getters and Setters
+    public LocalDate getPeriodStart() { return periodStart; }
+    public void setPeriodStart(LocalDate periodStart) { this.periodStart = periodStart; }
+
+    public String getDepartment() { return department; }
+    public void setDepartment(String department) { this.department = department; }
+
+    public Long getDoctorId() { return doctorId; }
+    public void setDoctorId(Long doctorId) { this.doctorId = doctorId; }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    public long getCount() { return count; }
+    public void setCount(long count) { this.count = count; }
+}
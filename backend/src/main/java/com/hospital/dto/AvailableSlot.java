@@ -0,0 +1,29 @@
+package com.hospital.dto;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+public class AvailableSlot {
+    private Long doctorId;
+    private LocalDate date;
+    private LocalTime time;
+
+    // Constructors
+    public AvailableSlot() {}
+
+    public AvailableSlot(Long doctorId, LocalDate date, LocalTime time) {
+        this.doctorId = doctorId;
+        this.date = date;
+        this.time = time;
+    }
+
+    // Getters and Setters
+    public Long getDoctorId() { return doctorId; }
+    public void setDoctorId(Long doctorId) { this.doctorId = doctorId; }
+
+    public LocalDate getDate() { return date; }
+    public void setDate(LocalDate date) { this.date = date; }
+
+    public LocalTime getTime() { return time; }
+    public void setTime(LocalTime time) { this.time = time; }
+}
@@ -0,0 +1,47 @@
+package com.hospital.dto;
+
+import com.hospital.entity.Bill;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.NotNull;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public class BillRequest {
+    @NotNull
+    private Long patientId;
+
+    @NotNull
+    @DecimalMin("0.00")
+    @Digits(integer = 10, fraction = 2)
+    private BigDecimal amount;
+
+    // Default to PENDING and today when omitted
+    private Bill.Status status;
+    private LocalDate date;
+
+    private String department;
+    private String description;
+
+    // Constructors
+    public BillRequest() {}
+
+    // Getters and Setters
+    public Long getPatientId() { return patientId; }
+    public void setPatientId(Long patientId) { this.patientId = patientId; }
+
+    public BigDecimal getAmount() { return amount; }
+    public void setAmount(BigDecimal amount) { this.amount = amount; }
+
+    public Bill.Status getStatus() { return status; }
+    public void setStatus(Bill.Status status) { this.status = status; }
+
+    public LocalDate getDate() { return date; }
+    public void setDate(LocalDate date) { this.date = date; }
+
+    public String getDepartment() { return department; }
+    public void setDepartment(String department) { this.department = department; }
+
+    public String getDescription() { return description; }
+    public void setDescription(String description) { this.description = description; }
+}
@@ -0,0 +1,56 @@
+package com.hospital.dto;
+
+import com.hospital.entity.Bill;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public class BillSummary {
+    private Long id;
+    private Long patientId;
+    private String patientName;
+    private BigDecimal amount;
+    private Bill.Status status;
+    private LocalDate date;
+    private String department;
+    private String description;
+
+    // Constructors
+    public BillSummary() {}
+
+    public BillSummary(Long id, Long patientId, String patientName, BigDecimal amount, Bill.Status status,
+                       LocalDate date, String department, String description) {
+        this.id = id;
+        this.patientId = patientId;
+        this.patientName = patientName;
+        this.amount = amount;
+        this.status = status;
+        this.date = date;
+        this.department = department;
+        this.description = description;
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Long getPatientId() { return patientId; }
+    public void setPatientId(Long patientId) { this.patientId = patientId; }
+
+    public String getPatientName() { return patientName; }
+    public void setPatientName(String patientName) { this.patientName = patientName; }
+
+    public BigDecimal getAmount() { return amount; }
+    public void setAmount(BigDecimal amount) { this.amount = amount; }
+
+    public Bill.Status getStatus() { return status; }
+    public void setStatus(Bill.Status status) { this.status = status; }
+
+    public LocalDate getDate() { return date; }
+    public void setDate(LocalDate date) { this.date = date; }
+
+    public String getDepartment() { return department; }
+    public void setDepartment(String department) { this.department = department; }
+
+    public String getDescription() { return description; }
+    public void setDescription(String description) { this.description = description; }
+}
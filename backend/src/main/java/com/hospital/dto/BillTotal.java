@@ -0,0 +1,53 @@
+package com.hospital.dto;
+
+import com.hospital.entity.Bill;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// One row of a bill aggregate; only the field it is grouped by is set
+public class BillTotal {
+    private LocalDate date;
+    private String department;
+    private Bill.Status status;
+    private long billCount;
+    private BigDecimal total;
+
+    // Constructors
+    public BillTotal() {}
+
+    public BillTotal(LocalDate date, long billCount, BigDecimal total) {
+        this(date, null, null, billCount, total);
+    }
+
+    public BillTotal(String department, long billCount, BigDecimal total) {
+        this(null, department, null, billCount, total);
+    }
+
+    public BillTotal(Bill.Status status, long billCount, BigDecimal total) {
+        this(null, null, status, billCount, total);
+    }
+
+    private BillTotal(LocalDate date, String department, Bill.Status status, long billCount, BigDecimal total) {
+        this.date = date;
+        this.department = department;
+        this.status = status;
+        this.billCount = billCount;
+        this.total = total != null ? total : BigDecimal.ZERO;
+    }
+
+    // Getters and Setters
+    public LocalDate getDate() { return date; }
+    public void setDate(LocalDate date) { this.date = date; }
+
+    public String getDepartment() { return department; }
+    public void setDepartment(String department) { this.department = department; }
+
+    public Bill.Status getStatus() { return status; }
+    public void setStatus(Bill.Status status) { this.status = status; }
+
+    public long getBillCount() { return billCount; }
+    public void setBillCount(long billCount) { this.billCount = billCount; }
+
+    public BigDecimal getTotal() { return total; }
+    public void setTotal(BigDecimal total) { this.total = total; }
+}
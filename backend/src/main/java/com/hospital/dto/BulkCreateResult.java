@@ -0,0 +1,23 @@
+package com.hospital.dto;
+
+import java.util.List;
+
+public class BulkCreateResult {
+    private int created;
+    private List<Long> ids;
+
+    // Constructors
+    public BulkCreateResult() {}
+
+    public BulkCreateResult(List<Long> ids) {
+        this.created = ids.size();
+        this.ids = ids;
+    }
+
+    // Getters and Setters
+    public int getCreated() { return created; }
+    public void setCreated(int created) { this.created = created; }
+
+    public List<Long> getIds() { return ids; }
+    public void setIds(List<Long> ids) { this.ids = ids; }
+}
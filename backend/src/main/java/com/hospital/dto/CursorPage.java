@@ -0,0 +1,59 @@
+package com.hospital.dto;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+public class CursorPage<T> {
+    private List<T> items;
+    private String nextCursor;
+    private boolean hasMore;
+    private Long totalCount;
+
+    // Constructors
+    public CursorPage() {}
+
+    public CursorPage(List<T> items, String nextCursor, Long totalCount) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+        this.hasMore = nextCursor != null;
+        this.totalCount = totalCount;
+    }
+
+    /**
+     * Builds a page from a query that fetched {@code pageSize + 1} rows; the
+     * extra row only signals that another page exists and is dropped.
+     */
+    public static <T> CursorPage<T> of(List<T> rows, int pageSize, Function<T, PageCursor> keyOf, Long totalCount) {
+        if (rows.size() <= pageSize) {
+            return new CursorPage<>(rows, null, totalCount);
+        }
+        List<T> items = rows.subList(0, pageSize);
+        return new CursorPage<>(items, keyOf.apply(items.get(pageSize - 1)).encode(), totalCount);
+    }
+
+    /**
+     * Puts rows fetched by id back into the order of the ids that were cut
+     * for the page, so the joining query needs no ORDER BY.
+     */
+    public static <T> List<T> inIdOrder(List<Long> ids, List<T> rows, Function<T, Long> idOf) {
+        Map<Long, T> byId = new HashMap<>(rows.size() * 2);
+        rows.forEach(row -> byId.put(idOf.apply(row), row));
+        return ids.stream().map(byId::get).filter(Objects::nonNull).toList();
+    }
+
+    // Getters and Setters
+    public List<T> getItems() { return items; }
+    public void setItems(List<T> items) { this.items = items; }
+
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+
+    public boolean isHasMore() { return hasMore; }
+    public void setHasMore(boolean hasMore) { this.hasMore = hasMore; }
+
+    public Long getTotalCount() { return totalCount; }
+    public void setTotalCount(Long totalCount) { this.totalCount = totalCount; }
+}
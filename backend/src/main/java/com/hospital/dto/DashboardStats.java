@@ -1,13 +1,40 @@
-// src/main/java/com/yourcompany/hospital/dto/DashboardStats.java
+package com.hospital.dto;
 
-package com.yourcompany.hospital.dto;
+import java.time.LocalDate;
+import java.util.Map;
 
-import lombok.Data;
-
-@Data
 public class DashboardStats {
-    private int totalPatients;
-    private int totalDoctors;
-    private int todayAppointments;
-    private int pendingBills;
+    private long totalPatients;
+    private long totalDoctors;
+    private long todayAppointments;
+    private long pendingBills;
+    private Map<LocalDate, Long> appointmentTrends;
+
+    // Constructors
+    public DashboardStats() {}
+
+    public DashboardStats(long totalPatients, long totalDoctors, long todayAppointments,
+                          long pendingBills, Map<LocalDate, Long> appointmentTrends) {
+        this.totalPatients = totalPatients;
+        this.totalDoctors = totalDoctors;
+        this.todayAppointments = todayAppointments;
+        this.pendingBills = pendingBills;
+        this.appointmentTrends = appointmentTrends;
+    }
+
+    // Getters and Setters
+    public long getTotalPatients() { return totalPatients; }
+    public void setTotalPatients(long totalPatients) { this.totalPatients = totalPatients; }
+
+    public long getTotalDoctors() { return totalDoctors; }
+    public void setTotalDoctors(long totalDoctors) { this.totalDoctors = totalDoctors; }
+
+    public long getTodayAppointments() { return todayAppointments; }
+    public void setTodayAppointments(long todayAppointments) { this.todayAppointments = todayAppointments; }
+
+    public long getPendingBills() { return pendingBills; }
+    public void setPendingBills(long pendingBills) { this.pendingBills = pendingBills; }
+
+    public Map<LocalDate, Long> getAppointmentTrends() { return appointmentTrends; }
+    public void setAppointmentTrends(Map<LocalDate, Long> appointmentTrends) { this.appointmentTrends = appointmentTrends; }
 }
@@ -0,0 +1,44 @@
+package com.hospital.dto;
+
+import java.math.BigDecimal;
+
+public class DoctorSummary {
+    private Long id;
+    private String name;
+    private String specialization;
+    private String department;
+    private Integer yearsOfExperience;
+    private BigDecimal consultationFee;
+
+    // Constructors
+    public DoctorSummary() {}
+
+    public DoctorSummary(Long id, String name, String specialization, String department,
+                         Integer yearsOfExperience, BigDecimal consultationFee) {
+        this.id = id;
+        this.name = name;
+        this.specialization = specialization;
+        this.department = department;
+        this.yearsOfExperience = yearsOfExperience;
+        this.consultationFee = consultationFee;
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    public String getSpecialization() { return specialization; }
+    public void setSpecialization(String specialization) { this.specialization = specialization; }
+
+    public String getDepartment() { return department; }
+    public void setDepartment(String department) { this.department = department; }
+
+    public Integer getYearsOfExperience() { return yearsOfExperience; }
+    public void setYearsOfExperience(Integer yearsOfExperience) { this.yearsOfExperience = yearsOfExperience; }
+
+    public BigDecimal getConsultationFee() { return consultationFee; }
+    public void setConsultationFee(BigDecimal consultationFee) { this.consultationFee = consultationFee; }
+}
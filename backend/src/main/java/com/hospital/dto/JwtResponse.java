@@ -7,6 +7,7 @@ public class JwtResponse {
     private String email;
     private String name;
     private String role;
+    private String refreshToken;
 
     public JwtResponse(String accessToken, Long id, String email, String name, String role) {
         this.token = accessToken;
@@ -16,6 +17,11 @@ public class JwtResponse {
         this.role = role;
     }
 
+    public JwtResponse(String accessToken, String refreshToken, Long id, String email, String name, String role) {
+        this(accessToken, id, email, name, role);
+        this.refreshToken = refreshToken;
+    }
+
     // Getters and Setters
     public String getToken() { return token; }
     public void setToken(String token) { this.token = token; }
@@ -34,4 +40,7 @@ public class JwtResponse {
 
     public String getRole() { return role; }
     public void setRole(String role) { this.role = role; }
+
+    public String getRefreshToken() { return refreshToken; }
+    public void setRefreshToken(String refreshToken) { this.refreshToken = refreshToken; }
 }
\ No newline at end of file
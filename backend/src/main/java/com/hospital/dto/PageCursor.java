@@ -0,0 +1,55 @@
+package com.hospital.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Opaque keyset position: the sort date (if any) and id of the last row
+ * returned. Tokens only reference row keys, so they stay valid while rows
+ * are inserted or deleted between requests.
+ */
+public class PageCursor {
+    private final LocalDate date;
+    private final Long id;
+
+    public PageCursor(LocalDate date, Long id) {
+        this.date = date;
+        this.id = id;
+    }
+
+    public static PageCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int sep = raw.indexOf('|');
+            if (sep < 0) {
+                throw new IllegalArgumentException("Invalid page cursor");
+            }
+            LocalDate date = sep == 0 ? null : LocalDate.parse(raw.substring(0, sep));
+            return new PageCursor(date, Long.parseLong(raw.substring(sep + 1)));
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid page cursor", e);
+        }
+    }
+
+    public static PageCursor decodeDated(String token) {
+        PageCursor cursor = decode(token);
+        if (cursor != null && cursor.getDate() == null) {
+            throw new IllegalArgumentException("Invalid page cursor");
+        }
+        return cursor;
+    }
+
+    public String encode() {
+        String raw = (date != null ? date.toString() : "") + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public LocalDate getDate() { return date; }
+
+    public Long getId() { return id; }
+}
@@ -0,0 +1,34 @@
+package com.hospital.dto;
+
+import java.math.BigDecimal;
+
+// Sum of a patient's pending bills
+public class PatientBalance {
+    private Long patientId;
+    private String patientName;
+    private long pendingBills;
+    private BigDecimal outstanding;
+
+    // Constructors
+    public PatientBalance() {}
+
+    public PatientBalance(Long patientId, String patientName, long pendingBills, BigDecimal outstanding) {
+        this.patientId = patientId;
+        this.patientName = patientName;
+        this.pendingBills = pendingBills;
+        this.outstanding = outstanding != null ? outstanding : BigDecimal.ZERO;
+    }
+
+    // Getters and Setters
+    public Long getPatientId() { return patientId; }
+    public void setPatientId(Long patientId) { this.patientId = patientId; }
+
+    public String getPatientName() { return patientName; }
+    public void setPatientName(String patientName) { this.patientName = patientName; }
+
+    public long getPendingBills() { return pendingBills; }
+    public void setPendingBills(long pendingBills) { this.pendingBills = pendingBills; }
+
+    public BigDecimal getOutstanding() { return outstanding; }
+    public void setOutstanding(BigDecimal outstanding) { this.outstanding = outstanding; }
+}
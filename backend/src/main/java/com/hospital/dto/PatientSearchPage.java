@@ -0,0 +1,34 @@
+package com.hospital.dto;
+
+import java.util.List;
+
+public class PatientSearchPage {
+    private List<PatientSummary> items;
+    private int offset;
+    private int totalMatches;
+    private boolean hasMore;
+
+    // Constructors
+    public PatientSearchPage() {}
+
+    public PatientSearchPage(List<PatientSummary> items, int offset, int totalMatches) {
+        this.items = items;
+        this.offset = offset;
+        this.totalMatches = totalMatches;
+        this.hasMore = offset + items.size() < totalMatches;
+    }
+
+    // Getters and Setters
+    public List<PatientSummary> getItems() { return items; }
+    public void setItems(List<PatientSummary> items) { this.items = items; }
+
+    public int getOffset() { return offset; }
+    public void setOffset(int offset) { this.offset = offset; }
+
+    // Counted over at most search.patients.max-candidates candidates
+    public int getTotalMatches() { return totalMatches; }
+    public void setTotalMatches(int totalMatches) { this.totalMatches = totalMatches; }
+
+    public boolean isHasMore() { return hasMore; }
+    public void setHasMore(boolean hasMore) { this.hasMore = hasMore; }
+}
@@ -0,0 +1,43 @@
+package com.hospital.dto;
+
+import java.time.LocalDate;
+
+public class PatientSummary {
+    private Long id;
+    private String name;
+    private String email;
+    private String phone;
+    private LocalDate dateOfBirth;
+    private String bloodType;
+
+    // Constructors
+    public PatientSummary() {}
+
+    public PatientSummary(Long id, String name, String email, String phone, LocalDate dateOfBirth, String bloodType) {
+        this.id = id;
+        this.name = name;
+        this.email = email;
+        this.phone = phone;
+        this.dateOfBirth = dateOfBirth;
+        this.bloodType = bloodType;
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    public String getEmail() { return email; }
+    public void setEmail(String email) { this.email = email; }
+
+    public String getPhone() { return phone; }
+    public void setPhone(String phone) { this.phone = phone; }
+
+    public LocalDate getDateOfBirth() { return dateOfBirth; }
+    public void setDateOfBirth(LocalDate dateOfBirth) { this.dateOfBirth = dateOfBirth; }
+
+    public String getBloodType() { return bloodType; }
+    public void setBloodType(String bloodType) { this.bloodType = bloodType; }
+}
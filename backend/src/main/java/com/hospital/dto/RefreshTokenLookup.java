@@ -0,0 +1,64 @@
+package com.hospital.dto;
+
+import com.hospital.entity.User;
+import java.time.LocalDateTime;
+
+/**
+ * A stored refresh token joined with the claims its owner's next access
+ * token needs, read in one query.
+ */
+public class RefreshTokenLookup {
+    private Long id;
+    private Long family;
+    private LocalDateTime sessionStartedAt;
+    private LocalDateTime expiresAt;
+    private LocalDateTime usedAt;
+    private Long userId;
+    private String email;
+    private String name;
+    private User.Role role;
+
+    // Constructors
+    public RefreshTokenLookup() {}
+
+    public RefreshTokenLookup(Long id, Long family, LocalDateTime sessionStartedAt, LocalDateTime expiresAt,
+                              LocalDateTime usedAt, Long userId, String email, String name, User.Role role) {
+        this.id = id;
+        this.family = family;
+        this.sessionStartedAt = sessionStartedAt;
+        this.expiresAt = expiresAt;
+        this.usedAt = usedAt;
+        this.userId = userId;
+        this.email = email;
+        this.name = name;
+        this.role = role;
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Long getFamily() { return family; }
+    public void setFamily(Long family) { this.family = family; }
+
+    public LocalDateTime getSessionStartedAt() { return sessionStartedAt; }
+    public void setSessionStartedAt(LocalDateTime sessionStartedAt) { this.sessionStartedAt = sessionStartedAt; }
+
+    public LocalDateTime getExpiresAt() { return expiresAt; }
+    public void setExpiresAt(LocalDateTime expiresAt) { this.expiresAt = expiresAt; }
+
+    public LocalDateTime getUsedAt() { return usedAt; }
+    public void setUsedAt(LocalDateTime usedAt) { this.usedAt = usedAt; }
+
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+
+    public String getEmail() { return email; }
+    public void setEmail(String email) { this.email = email; }
+
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    public User.Role getRole() { return role; }
+    public void setRole(User.Role role) { this.role = role; }
+}
@@ -0,0 +1,41 @@
+package com.hospital.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Cheap validator for a resource or collection: how many rows it covers
+ * and when the newest of them changed.
+ */
+public class ResourceVersion {
+    private final long count;
+    private final LocalDateTime lastModified;
+
+    public ResourceVersion(LocalDateTime lastModified) {
+        this(1L, lastModified);
+    }
+
+    public ResourceVersion(Long count, LocalDateTime lastModified) {
+        this.count = count != null ? count : 0;
+        this.lastModified = lastModified;
+    }
+
+    // A resource that embeds its patient and doctor changes when either of them does
+    public ResourceVersion(LocalDateTime own, LocalDateTime patient, LocalDateTime doctor) {
+        this(1L, latest(latest(own, patient), doctor));
+    }
+
+    public ResourceVersion and(LocalDateTime other) {
+        return new ResourceVersion(count, latest(lastModified, other));
+    }
+
+    public long getCount() { return count; }
+
+    public LocalDateTime getLastModified() { return lastModified; }
+
+    private static LocalDateTime latest(LocalDateTime a, LocalDateTime b) {
+        if (a == null) {
+            return b;
+        }
+        return b != null && b.isAfter(a) ? b : a;
+    }
+}
@@ -0,0 +1,21 @@
+package com.hospital.dto;
+
+public class Suggestion {
+    private String value;
+    private long frequency;
+
+    // Constructors
+    public Suggestion() {}
+
+    public Suggestion(String value, long frequency) {
+        this.value = value;
+        this.frequency = frequency;
+    }
+
+    // Getters and Setters
+    public String getValue() { return value; }
+    public void setValue(String value) { this.value = value; }
+
+    public long getFrequency() { return frequency; }
+    public void setFrequency(long frequency) { this.frequency = frequency; }
+}
@@ -1,5 +1,6 @@
 package com.hospital.entity;
 
+import com.hospital.service.DashboardStatsListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -8,10 +9,18 @@ import java.time.LocalTime;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "appointments")
+@EntityListeners(DashboardStatsListener.class)
+@Table(name = "appointments", indexes = {
+        @Index(name = "idx_appointments_date_id", columnList = "appointment_date, id"),
+        @Index(name = "idx_appointments_updated_at", columnList = "updated_at")
+}, uniqueConstraints = {
+        @UniqueConstraint(name = "uk_appointments_doctor_slot", columnNames = {"doctor_id", "appointment_date", "reserved_slot"})
+})
 public class Appointment {
+    // Pooled sequence (a table on MySQL) so inserts can be JDBC-batched
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "appointment_seq")
+    @SequenceGenerator(name = "appointment_seq", sequenceName = "appointments_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -41,6 +50,14 @@ public class Appointment {
 
     private String department;
 
+    // Slot start while the appointment holds its slot, null once cancelled
+    @Column(name = "reserved_slot")
+    private LocalTime reservedSlot;
+
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private Long version;
+
     @Column(name = "created_at")
     private LocalDateTime createdAt;
 
@@ -95,6 +112,12 @@ public class Appointment {
     public String getDepartment() { return department; }
     public void setDepartment(String department) { this.department = department; }
 
+    public LocalTime getReservedSlot() { return reservedSlot; }
+    public void setReservedSlot(LocalTime reservedSlot) { this.reservedSlot = reservedSlot; }
+
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
+
     public LocalDateTime getCreatedAt() { return createdAt; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
 
@@ -0,0 +1,35 @@
+package com.hospital.entity;
+
+import jakarta.persistence.*;
+
+/**
+ * Number of appointments per day, department, doctor and status. Kept
+ * current by AppointmentRollupListener in the same transaction as the
+ * appointment write, and rebuilt from the appointments table by
+ * AppointmentRollupService. The primary key starts with the date, so a
+ * trend over any range is a primary-key range scan.
+ */
+@Entity
+@Table(name = "appointment_daily_rollups")
+public class AppointmentDailyRollup {
+    @EmbeddedId
+    private AppointmentRollupKey key;
+
+    @Column(name = "appointment_count", nullable = false)
+    private long appointmentCount;
+
+    // Constructors
+    public AppointmentDailyRollup() {}
+
+    public AppointmentDailyRollup(AppointmentRollupKey key, long appointmentCount) {
+        this.key = key;
+        this.appointmentCount = appointmentCount;
+    }
+
+    // Getters and Setters
+    public AppointmentRollupKey getKey() { return key; }
+    public void setKey(AppointmentRollupKey key) { this.key = key; }
+
+    public long getAppointmentCount() { return appointmentCount; }
+    public void setAppointmentCount(long appointmentCount) { this.appointmentCount = appointmentCount; }
+}
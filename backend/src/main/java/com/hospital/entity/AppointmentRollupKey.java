@@ -0,0 +1,63 @@
+package com.hospital.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * One rollup bucket: a day, department, doctor and status. Appointments
+ * without a department are counted under the empty string, since every
+ * key column is part of the primary key.
+ */
+@Embeddable
+public class AppointmentRollupKey implements Serializable {
+    @Column(name = "bucket_date", nullable = false)
+    private LocalDate bucketDate;
+
+    @Column(nullable = false)
+    private String department;
+
+    @Column(name = "doctor_id", nullable = false)
+    private Long doctorId;
+
+    @Column(nullable = false, length = 20)
+    private String status;
+
+    // Constructors
+    public AppointmentRollupKey() {}
+
+    public AppointmentRollupKey(LocalDate bucketDate, String department, Long doctorId, String status) {
+        this.bucketDate = bucketDate;
+        this.department = department != null ? department : "";
+        this.doctorId = doctorId;
+        this.status = status;
+    }
+
+    // Getters and Setters
+    public LocalDate getBucketDate() { return bucketDate; }
+    public void setBucketDate(LocalDate bucketDate) { this.bucketDate = bucketDate; }
+
+    public String getDepartment() { return department; }
+    public void setDepartment(String department) { this.department = department; }
+
+    public Long getDoctorId() { return doctorId; }
+    public void setDoctorId(Long doctorId) { this.doctorId = doctorId; }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof AppointmentRollupKey that)) return false;
+        return Objects.equals(bucketDate, that.bucketDate) && Objects.equals(department, that.department)
+                && Objects.equals(doctorId, that.doctorId) && Objects.equals(status, that.status);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(bucketDate, department, doctorId, status);
+    }
+}
@@ -0,0 +1,114 @@
+package com.hospital.entity;
+
+import com.hospital.service.DashboardStatsListener;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Entity
+@EntityListeners(DashboardStatsListener.class)
+// Both indexes end in amount so the status, revenue and balance aggregates are answered from the index alone
+@Table(name = "bills", indexes = {
+        @Index(name = "idx_bills_status_date", columnList = "status, bill_date, department, amount"),
+        @Index(name = "idx_bills_patient_status", columnList = "patient_id, status, amount")
+}, uniqueConstraints = {
+        @UniqueConstraint(name = "uk_bills_appointment", columnNames = "appointment_id")
+})
+public class Bill {
+    // Pooled sequence (a table on MySQL) so inserts can be JDBC-batched
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "bill_seq")
+    @SequenceGenerator(name = "bill_seq", sequenceName = "bills_seq", allocationSize = 50)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "patient_id", nullable = false)
+    private Patient patient;
+
+    // Exact decimal money; amounts are in the hospital's single currency
+    @NotNull
+    @Column(nullable = false, precision = 12, scale = 2)
+    private BigDecimal amount;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Status status = Status.PENDING;
+
+    @NotNull
+    @Column(name = "bill_date", nullable = false)
+    private LocalDate date;
+
+    private String department;
+
+    // Set on bills generated by the billing run; unique, so an appointment is billed at most once
+    @Column(name = "appointment_id")
+    private Long appointmentId;
+
+    @Column(length = 1000)
+    private String description;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    public enum Status {
+        PENDING, PAID, CANCELLED
+    }
+
+    // Constructors
+    public Bill() {}
+
+    public Bill(Patient patient, BigDecimal amount, LocalDate date, String department, String description) {
+        this.patient = patient;
+        this.amount = amount;
+        this.date = date;
+        this.department = department;
+        this.description = description;
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Patient getPatient() { return patient; }
+    public void setPatient(Patient patient) { this.patient = patient; }
+
+    public BigDecimal getAmount() { return amount; }
+    public void setAmount(BigDecimal amount) { this.amount = amount; }
+
+    public Status getStatus() { return status; }
+    public void setStatus(Status status) { this.status = status; }
+
+    public LocalDate getDate() { return date; }
+    public void setDate(LocalDate date) { this.date = date; }
+
+    public String getDepartment() { return department; }
+    public void setDepartment(String department) { this.department = department; }
+
+    public Long getAppointmentId() { return appointmentId; }
+    public void setAppointmentId(Long appointmentId) { this.appointmentId = appointmentId; }
+
+    public String getDescription() { return description; }
+    public void setDescription(String description) { this.description = description; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        updatedAt = LocalDateTime.now();
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+}
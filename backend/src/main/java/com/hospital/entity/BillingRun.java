@@ -0,0 +1,83 @@
+package com.hospital.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Progress of the billing run for one day's completed appointments.
+ * Counters are advanced in the same transaction as each chunk's bills, so
+ * they match what was committed even after a crash.
+ */
+@Entity
+@Table(name = "billing_runs")
+public class BillingRun {
+    @Id
+    @Column(name = "bill_date")
+    private LocalDate billDate;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Status status = Status.PENDING;
+
+    // Bills accumulate across runs of the day; the other counters describe the latest run
+    @Column(name = "chunks_total", nullable = false)
+    private int chunksTotal;
+
+    @Column(name = "chunks_completed", nullable = false)
+    private int chunksCompleted;
+
+    @Column(name = "bills_created", nullable = false)
+    private long billsCreated;
+
+    @Column(name = "unpriced", nullable = false)
+    private long unpriced;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    public enum Status {
+        PENDING, RUNNING, COMPLETED, FAILED
+    }
+
+    // Constructors
+    public BillingRun() {}
+
+    public BillingRun(LocalDate billDate) {
+        this.billDate = billDate;
+    }
+
+    // Getters and Setters
+    public LocalDate getBillDate() { return billDate; }
+    public void setBillDate(LocalDate billDate) { this.billDate = billDate; }
+
+    public Status getStatus() { return status; }
+    public void setStatus(Status status) { this.status = status; }
+
+    public int getChunksTotal() { return chunksTotal; }
+    public void setChunksTotal(int chunksTotal) { this.chunksTotal = chunksTotal; }
+
+    public int getChunksCompleted() { return chunksCompleted; }
+    public void setChunksCompleted(int chunksCompleted) { this.chunksCompleted = chunksCompleted; }
+
+    public long getBillsCreated() { return billsCreated; }
+    public void setBillsCreated(long billsCreated) { this.billsCreated = billsCreated; }
+
+    public long getUnpriced() { return unpriced; }
+    public void setUnpriced(long unpriced) { this.unpriced = unpriced; }
+
+    public LocalDateTime getStartedAt() { return startedAt; }
+    public void setStartedAt(LocalDateTime startedAt) { this.startedAt = startedAt; }
+
+    public LocalDateTime getFinishedAt() { return finishedAt; }
+    public void setFinishedAt(LocalDateTime finishedAt) { this.finishedAt = finishedAt; }
+
+    public String getLastError() { return lastError; }
+    public void setLastError(String lastError) { this.lastError = lastError; }
+}
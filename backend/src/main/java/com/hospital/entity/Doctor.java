@@ -1,10 +1,12 @@
 package com.hospital.entity;
 
+import com.hospital.service.DashboardStatsListener;
 import jakarta.persistence.*;
 import java.math.BigDecimal;
 import java.util.List;
 
 @Entity
+@EntityListeners(DashboardStatsListener.class)
 @Table(name = "doctors")
 @PrimaryKeyJoinColumn(name = "user_id")
 public class Doctor extends User {
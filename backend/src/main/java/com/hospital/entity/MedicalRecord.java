@@ -8,10 +8,15 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
-@Table(name = "medical_records")
+@Table(name = "medical_records", indexes = {
+        @Index(name = "idx_medical_records_date_id", columnList = "record_date, id"),
+        @Index(name = "idx_medical_records_updated_at", columnList = "updated_at")
+})
 public class MedicalRecord {
+    // Pooled sequence (a table on MySQL) so inserts can be JDBC-batched
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "medical_record_seq")
+    @SequenceGenerator(name = "medical_record_seq", sequenceName = "medical_records_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -1,10 +1,12 @@
 package com.hospital.entity;
 
+import com.hospital.service.DashboardStatsListener;
 import jakarta.persistence.*;
 import java.time.LocalDate;
 import java.util.List;
 
 @Entity
+@EntityListeners(DashboardStatsListener.class)
 @Table(name = "patients")
 @PrimaryKeyJoinColumn(name = "user_id")
 public class Patient extends User {
@@ -32,7 +34,8 @@ public class Patient extends User {
     
     @ElementCollection
     @CollectionTable(name = "patient_medical_history", joinColumns = @JoinColumn(name = "patient_id"))
-    @Column(name = "condition")
+    // CONDITION is reserved in MySQL; the backticks make Hibernate quote it in every dialect
+    @Column(name = "`condition`")
     private List<String> medicalHistory;
     
     @Column(name = "insurance_provider")
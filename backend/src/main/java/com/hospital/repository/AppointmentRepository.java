@@ -1,28 +1,108 @@
 package com.hospital.repository;
 
+import com.hospital.dto.AppointmentSummary;
+import com.hospital.dto.ResourceVersion;
 import com.hospital.entity.Appointment;
-import com.hospital.entity.Patient;
-import com.hospital.entity.Doctor;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 import org.springframework.stereotype.Repository;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface AppointmentRepository extends JpaRepository<Appointment, Long> {
-    List<Appointment> findByPatient(Patient patient);
-    List<Appointment> findByDoctor(Doctor doctor);
-    List<Appointment> findByAppointmentDate(LocalDate date);
-    List<Appointment> findByPatientAndAppointmentDateAfter(Patient patient, LocalDate date);
-    List<Appointment> findByDoctorAndAppointmentDateAfter(Doctor doctor, LocalDate date);
+    String SUMMARY = "SELECT new com.hospital.dto.AppointmentSummary(a.id, p.id, p.name, d.id, d.name, "
+            + "a.appointmentDate, a.appointmentTime, a.status, a.reason, a.department) "
+            + "FROM Appointment a JOIN a.patient p JOIN a.doctor d ";
+
+    // Detail reads fetch patient and doctor in the same query;
+    // their element collections are batch-loaded (default_batch_fetch_size)
+    @Override
+    @EntityGraph(attributePaths = {"patient", "doctor"})
+    Optional<Appointment> findById(Long id);
 
     // ✅ New: Count how many appointments happen today
     long countByAppointmentDate(LocalDate date);
 
-    // ✅ New: Get appointment trend data for last 7 days
-    @Query("SELECT a.appointmentDate, COUNT(a) FROM Appointment a WHERE a.appointmentDate >= :startDate GROUP BY a.appointmentDate ORDER BY a.appointmentDate ASC")
-    List<Object[]> findLast7DaysTrend(@Param("startDate") LocalDate startDate);
+    // Date span of the appointments table, for a full rollup rebuild
+    @Query("SELECT MIN(a.appointmentDate), MAX(a.appointmentDate) FROM Appointment a")
+    List<Object[]> findDateRange();
+
+    // Days the nightly rollup rebuild revisits; served by idx_appointments_updated_at
+    @Query("SELECT DISTINCT a.appointmentDate FROM Appointment a WHERE a.updatedAt >= :since ORDER BY a.appointmentDate")
+    List<LocalDate> findDatesUpdatedSince(@Param("since") LocalDateTime since);
+
+    @Query("SELECT a.id, a.appointmentDate FROM Appointment a WHERE a.appointmentDate BETWEEN :from AND :to")
+    List<Object[]> findIdsAndDatesBetween(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Query("SELECT a.id, a.doctor.id, a.appointmentDate, a.appointmentTime FROM Appointment a WHERE a.appointmentDate >= :from AND a.status <> :excluded")
+    List<Object[]> findActiveSlotsFrom(@Param("from") LocalDate from, @Param("excluded") Appointment.Status excluded);
+
+    // Billing run: keyset scan of a day's appointment ids in a status, then the unbilled charges of one id range
+    @Query("SELECT a.id FROM Appointment a WHERE a.appointmentDate = :date AND a.status = :status AND a.id > :after ORDER BY a.id")
+    List<Long> findIdsByDateAndStatus(@Param("date") LocalDate date, @Param("status") Appointment.Status status,
+                               @Param("after") Long after, Limit limit);
+
+    @Query("SELECT a.id, a.patient.id, COALESCE(a.department, d.department), d.consultationFee FROM Appointment a JOIN a.doctor d "
+            + "WHERE a.appointmentDate = :date AND a.status = :status AND a.id BETWEEN :firstId AND :lastId "
+            + "AND NOT EXISTS (SELECT b.id FROM Bill b WHERE b.appointmentId = a.id) ORDER BY a.id")
+    List<Object[]> findUnbilledCharges(@Param("date") LocalDate date, @Param("status") Appointment.Status status,
+                                       @Param("firstId") Long firstId, @Param("lastId") Long lastId);
+
+    // Summary reads for list endpoints; no entities are loaded
+    @Query(SUMMARY + "WHERE p.id = :patientId ORDER BY a.appointmentDate DESC, a.appointmentTime DESC")
+    List<AppointmentSummary> findSummariesByPatientId(@Param("patientId") Long patientId);
+
+    @Query(SUMMARY + "WHERE d.id = :doctorId ORDER BY a.appointmentDate DESC, a.appointmentTime DESC")
+    List<AppointmentSummary> findSummariesByDoctorId(@Param("doctorId") Long doctorId);
+
+    @Query(SUMMARY + "WHERE a.appointmentDate = :date ORDER BY a.appointmentTime, a.id")
+    List<AppointmentSummary> findSummariesByDate(@Param("date") LocalDate date);
+
+    // Keyset pagination on (appointment_date, id), newest first. The page is cut from
+    // idx_appointments_date_id alone; sorting the join lets MySQL filesort every row first
+    @Query("SELECT a.id FROM Appointment a ORDER BY a.appointmentDate DESC, a.id DESC")
+    List<Long> findPageIds(Limit limit);
+
+    @Query("SELECT a.id FROM Appointment a WHERE a.appointmentDate < :date OR (a.appointmentDate = :date AND a.id < :id) "
+            + "ORDER BY a.appointmentDate DESC, a.id DESC")
+    List<Long> findPageIdsAfter(@Param("date") LocalDate date, @Param("id") Long id, Limit limit);
+
+    @Query(SUMMARY + "WHERE a.id IN :ids")
+    List<AppointmentSummary> findSummariesByIds(@Param("ids") Collection<Long> ids);
+
+    // Conditional GET validators
+    @Query("SELECT new com.hospital.dto.ResourceVersion(a.updatedAt, p.updatedAt, d.updatedAt) FROM Appointment a JOIN a.patient p JOIN a.doctor d WHERE a.id = :id")
+    Optional<ResourceVersion> findVersionById(@Param("id") Long id);
+
+    @Query("SELECT new com.hospital.dto.ResourceVersion(COUNT(a), MAX(a.updatedAt)) FROM Appointment a")
+    ResourceVersion findCollectionVersion();
+
+    @Query("SELECT new com.hospital.dto.ResourceVersion(COUNT(a), MAX(a.updatedAt)) FROM Appointment a WHERE a.patient.id = :patientId")
+    ResourceVersion findCollectionVersionByPatientId(@Param("patientId") Long patientId);
+
+    @Query("SELECT new com.hospital.dto.ResourceVersion(COUNT(a), MAX(a.updatedAt)) FROM Appointment a WHERE a.doctor.id = :doctorId")
+    ResourceVersion findCollectionVersionByDoctorId(@Param("doctorId") Long doctorId);
+
+    @Query("SELECT new com.hospital.dto.ResourceVersion(COUNT(a), MAX(a.updatedAt)) FROM Appointment a WHERE a.appointmentDate = :date")
+    ResourceVersion findCollectionVersionByDate(@Param("date") LocalDate date);
+
+    // Export: forward-only stream
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT a FROM Appointment a ORDER BY a.id")
+    Stream<Appointment> streamAllForExport();
 }
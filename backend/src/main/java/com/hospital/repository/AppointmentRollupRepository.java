@@ -0,0 +1,29 @@
+package com.hospital.repository;
+
+import com.hospital.entity.AppointmentDailyRollup;
+import com.hospital.entity.AppointmentRollupKey;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.LocalDate;
+
+@Repository
+public interface AppointmentRollupRepository extends JpaRepository<AppointmentDailyRollup, AppointmentRollupKey> {
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM AppointmentDailyRollup r WHERE r.key.bucketDate BETWEEN :from AND :to")
+    int deleteBetween(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    // Recomputes the buckets of a date range from the appointments table; run after deleteBetween
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO appointment_daily_rollups (bucket_date, department, doctor_id, status, appointment_count) "
+            + "SELECT appointment_date, COALESCE(department, ''), doctor_id, COALESCE(status, ''), COUNT(*) FROM appointments "
+            + "WHERE appointment_date BETWEEN :from AND :to "
+            + "GROUP BY appointment_date, COALESCE(department, ''), doctor_id, COALESCE(status, '')", nativeQuery = true)
+    int insertBetween(@Param("from") LocalDate from, @Param("to") LocalDate to);
+}
@@ -1,14 +1,65 @@
 package com.hospital.repository;
 
+import com.hospital.dto.BillSummary;
+import com.hospital.dto.BillTotal;
+import com.hospital.dto.PatientBalance;
 import com.hospital.entity.Bill;
-import com.hospital.entity.Patient;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface BillRepository extends JpaRepository<Bill, Long> {
-    List<Bill> findByPatient(Patient patient);
-    List<Bill> findByStatus(String status); // e.g., PAID, PENDING
+    String SUMMARY = "SELECT new com.hospital.dto.BillSummary(b.id, p.id, p.name, b.amount, b.status, b.date, "
+            + "b.department, b.description) FROM Bill b JOIN b.patient p ";
+
+    @Override
+    @EntityGraph(attributePaths = {"patient"})
+    Optional<Bill> findById(Long id);
+
+    @Query("SELECT b.id FROM Bill b WHERE b.status = com.hospital.entity.Bill$Status.PENDING")
+    List<Long> findPendingBillIds();
+
+    // Keyset pagination on id
+    @Query(SUMMARY + "ORDER BY b.id")
+    List<BillSummary> findSummaries(Limit limit);
+
+    @Query(SUMMARY + "WHERE b.id > :id ORDER BY b.id")
+    List<BillSummary> findSummariesAfter(@Param("id") Long id, Limit limit);
+
+    @Query(SUMMARY + "WHERE p.id = :patientId ORDER BY b.id")
+    List<BillSummary> findSummariesByPatientId(@Param("patientId") Long patientId, Limit limit);
+
+    @Query(SUMMARY + "WHERE p.id = :patientId AND b.id > :id ORDER BY b.id")
+    List<BillSummary> findSummariesByPatientIdAfter(@Param("patientId") Long patientId, @Param("id") Long id, Limit limit);
+
+    long countByPatientId(Long patientId);
+
+    // Aggregates; grouped in the database and read from the covering indexes on bills
+    @Query("SELECT new com.hospital.dto.PatientBalance(p.id, p.name, COUNT(b), SUM(b.amount)) FROM Patient p "
+            + "LEFT JOIN Bill b ON b.patient = p AND b.status = com.hospital.entity.Bill$Status.PENDING "
+            + "WHERE p.id = :patientId GROUP BY p.id, p.name")
+    Optional<PatientBalance> findBalanceByPatientId(@Param("patientId") Long patientId);
+
+    @Query("SELECT new com.hospital.dto.PatientBalance(p.id, p.name, COUNT(b), SUM(b.amount)) FROM Bill b JOIN b.patient p "
+            + "WHERE b.status = com.hospital.entity.Bill$Status.PENDING GROUP BY p.id, p.name ORDER BY SUM(b.amount) DESC, p.id")
+    List<PatientBalance> findLargestBalances(Limit limit);
+
+    @Query("SELECT new com.hospital.dto.BillTotal(b.date, COUNT(b), SUM(b.amount)) FROM Bill b "
+            + "WHERE b.status = :status AND b.date BETWEEN :from AND :to GROUP BY b.date ORDER BY b.date")
+    List<BillTotal> sumByDate(@Param("status") Bill.Status status, @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Query("SELECT new com.hospital.dto.BillTotal(b.department, COUNT(b), SUM(b.amount)) FROM Bill b "
+            + "WHERE b.status = :status AND b.date BETWEEN :from AND :to GROUP BY b.department ORDER BY SUM(b.amount) DESC")
+    List<BillTotal> sumByDepartment(@Param("status") Bill.Status status, @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Query("SELECT new com.hospital.dto.BillTotal(b.status, COUNT(b), SUM(b.amount)) FROM Bill b GROUP BY b.status ORDER BY b.status")
+    List<BillTotal> sumByStatus();
 }
@@ -0,0 +1,47 @@
+package com.hospital.repository;
+
+import com.hospital.entity.BillingRun;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Repository
+public interface BillingRunRepository extends JpaRepository<BillingRun, LocalDate> {
+
+    // Takes the run for a day unless another worker holds it; a RUNNING row older than staleBefore is taken over
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE BillingRun r SET r.status = com.hospital.entity.BillingRun$Status.RUNNING, r.startedAt = :now, "
+            + "r.finishedAt = NULL, r.lastError = NULL, r.chunksTotal = 0, r.chunksCompleted = 0, r.unpriced = 0 "
+            + "WHERE r.billDate = :date AND (r.status <> com.hospital.entity.BillingRun$Status.RUNNING OR r.startedAt < :staleBefore)")
+    int claim(@Param("date") LocalDate date, @Param("now") LocalDateTime now, @Param("staleBefore") LocalDateTime staleBefore);
+
+    // Counts a chunk as it is queued, so a RUNNING status shows chunksCompleted of the chunks scanned so far
+    @Transactional
+    @Modifying
+    @Query("UPDATE BillingRun r SET r.chunksTotal = r.chunksTotal + 1 WHERE r.billDate = :date "
+            + "AND r.status = com.hospital.entity.BillingRun$Status.RUNNING AND r.startedAt = :startedAt")
+    int recordChunkQueued(@Param("date") LocalDate date, @Param("startedAt") LocalDateTime startedAt);
+
+    // The startedAt match fences out a run whose lease was taken over; 0 rows means the claim is gone
+    @Transactional
+    @Modifying
+    @Query("UPDATE BillingRun r SET r.chunksCompleted = r.chunksCompleted + 1, r.billsCreated = r.billsCreated + :bills, "
+            + "r.unpriced = r.unpriced + :unpriced WHERE r.billDate = :date "
+            + "AND r.status = com.hospital.entity.BillingRun$Status.RUNNING AND r.startedAt = :startedAt")
+    int recordChunk(@Param("date") LocalDate date, @Param("startedAt") LocalDateTime startedAt,
+                    @Param("bills") long bills, @Param("unpriced") long unpriced);
+
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE BillingRun r SET r.status = :status, r.chunksTotal = :chunks, r.finishedAt = :now, r.lastError = :error "
+            + "WHERE r.billDate = :date AND r.status = com.hospital.entity.BillingRun$Status.RUNNING AND r.startedAt = :startedAt")
+    int finish(@Param("date") LocalDate date, @Param("startedAt") LocalDateTime startedAt,
+               @Param("status") BillingRun.Status status, @Param("chunks") int chunks,
+               @Param("now") LocalDateTime now, @Param("error") String error);
+}
@@ -1,12 +1,22 @@
 package com.hospital.repository;
 
+import com.hospital.dto.DoctorSummary;
 import com.hospital.entity.Doctor;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 import java.util.List;
 
 @Repository
 public interface DoctorRepository extends JpaRepository<Doctor, Long> {
+    String SUMMARY = "SELECT new com.hospital.dto.DoctorSummary(d.id, d.name, d.specialization, d.department, d.yearsOfExperience, d.consultationFee) FROM Doctor d ";
+
     List<Doctor> findByDepartment(String department);
     List<Doctor> findBySpecialization(String specialization);
-}
\ No newline at end of file
+
+    @Query(SUMMARY + "ORDER BY d.id")
+    List<DoctorSummary> findAllSummaries();
+
+    @Query("SELECT d.id, d.department FROM Doctor d")
+    List<Object[]> findIdsAndDepartments();
+}
@@ -1,15 +1,82 @@
 package com.hospital.repository;
 
+import com.hospital.dto.MedicalRecordSummary;
+import com.hospital.dto.ResourceVersion;
 import com.hospital.entity.MedicalRecord;
-import com.hospital.entity.Patient;
-import com.hospital.entity.Doctor;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface MedicalRecordRepository extends JpaRepository<MedicalRecord, Long> {
-    List<MedicalRecord> findByPatient(Patient patient);
-    List<MedicalRecord> findByDoctor(Doctor doctor);
-    List<MedicalRecord> findByPatientOrderByRecordDateDesc(Patient patient);
+    String SUMMARY = "SELECT new com.hospital.dto.MedicalRecordSummary(r.id, p.id, p.name, d.id, d.name, "
+            + "r.recordDate, r.diagnosis, r.followUpDate) "
+            + "FROM MedicalRecord r JOIN r.patient p JOIN r.doctor d ";
+
+    // Detail reads fetch patient and doctor in the same query;
+    // their element collections are batch-loaded (default_batch_fetch_size)
+    @Override
+    @EntityGraph(attributePaths = {"patient", "doctor"})
+    Optional<MedicalRecord> findById(Long id);
+
+    // Summary reads for list endpoints; no entities are loaded
+    @Query(SUMMARY + "WHERE p.id = :patientId ORDER BY r.recordDate DESC, r.id DESC")
+    List<MedicalRecordSummary> findSummariesByPatientId(@Param("patientId") Long patientId);
+
+    @Query(SUMMARY + "WHERE d.id = :doctorId ORDER BY r.recordDate DESC, r.id DESC")
+    List<MedicalRecordSummary> findSummariesByDoctorId(@Param("doctorId") Long doctorId);
+
+    // Keyset pagination on (record_date, id), newest first, cut from idx_medical_records_date_id
+    // alone; see AppointmentRepository.findPageIds
+    @Query("SELECT r.id FROM MedicalRecord r ORDER BY r.recordDate DESC, r.id DESC")
+    List<Long> findPageIds(Limit limit);
+
+    @Query("SELECT r.id FROM MedicalRecord r WHERE r.recordDate < :date OR (r.recordDate = :date AND r.id < :id) "
+            + "ORDER BY r.recordDate DESC, r.id DESC")
+    List<Long> findPageIdsAfter(@Param("date") LocalDate date, @Param("id") Long id, Limit limit);
+
+    @Query(SUMMARY + "WHERE r.id IN :ids")
+    List<MedicalRecordSummary> findSummariesByIds(@Param("ids") Collection<Long> ids);
+
+    // Conditional GET validators
+    @Query("SELECT new com.hospital.dto.ResourceVersion(r.updatedAt, p.updatedAt, d.updatedAt) FROM MedicalRecord r JOIN r.patient p JOIN r.doctor d WHERE r.id = :id")
+    Optional<ResourceVersion> findVersionById(@Param("id") Long id);
+
+    @Query("SELECT new com.hospital.dto.ResourceVersion(COUNT(r), MAX(r.updatedAt)) FROM MedicalRecord r")
+    ResourceVersion findCollectionVersion();
+
+    @Query("SELECT new com.hospital.dto.ResourceVersion(COUNT(r), MAX(r.updatedAt)) FROM MedicalRecord r WHERE r.patient.id = :patientId")
+    ResourceVersion findCollectionVersionByPatientId(@Param("patientId") Long patientId);
+
+    @Query("SELECT new com.hospital.dto.ResourceVersion(COUNT(r), MAX(r.updatedAt)) FROM MedicalRecord r WHERE r.doctor.id = :doctorId")
+    ResourceVersion findCollectionVersionByDoctorId(@Param("doctorId") Long doctorId);
+
+    // Export: forward-only stream, medications loaded per chunk
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT r FROM MedicalRecord r ORDER BY r.id")
+    Stream<MedicalRecord> streamAllForExport();
+
+    @Query("SELECT r.id, m FROM MedicalRecord r JOIN r.medications m WHERE r.id IN :ids")
+    List<Object[]> findMedicationsByRecordIds(@Param("ids") Collection<Long> ids);
+
+    // Autocomplete vocabulary: distinct values with their usage counts
+    @Query("SELECT m, COUNT(r) FROM MedicalRecord r JOIN r.medications m GROUP BY m")
+    List<Object[]> countMedications();
+
+    @Query("SELECT r.diagnosis, COUNT(r) FROM MedicalRecord r WHERE r.diagnosis IS NOT NULL GROUP BY r.diagnosis")
+    List<Object[]> countDiagnoses();
 }
\ No newline at end of file
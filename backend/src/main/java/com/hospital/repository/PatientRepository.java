@@ -1,9 +1,40 @@
 package com.hospital.repository;
 
+import com.hospital.dto.PatientSummary;
+import com.hospital.dto.ResourceVersion;
 import com.hospital.entity.Patient;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface PatientRepository extends JpaRepository<Patient, Long> {
-}
\ No newline at end of file
+    String SUMMARY = "SELECT new com.hospital.dto.PatientSummary(p.id, p.name, p.email, p.phone, p.dateOfBirth, p.bloodType) FROM Patient p ";
+
+    // Keyset pagination on id, read as summaries
+    @Query(SUMMARY + "ORDER BY p.id")
+    List<PatientSummary> findSummaries(Limit limit);
+
+    @Query(SUMMARY + "WHERE p.id > :id ORDER BY p.id")
+    List<PatientSummary> findSummariesAfter(@Param("id") Long id, Limit limit);
+
+    // Conditional GET validators
+    @Query("SELECT new com.hospital.dto.ResourceVersion(p.updatedAt) FROM Patient p WHERE p.id = :id")
+    Optional<ResourceVersion> findVersionById(@Param("id") Long id);
+
+    @Query("SELECT new com.hospital.dto.ResourceVersion(COUNT(p), MAX(p.updatedAt)) FROM Patient p")
+    ResourceVersion findCollectionVersion();
+
+    // Search index rebuild, in keyset batches
+    @Query("SELECT p.id, p.name, p.email, p.phone, p.dateOfBirth, p.bloodType, p.insurancePolicyNumber, p.insuranceGroupNumber "
+            + "FROM Patient p WHERE p.id > :id ORDER BY p.id")
+    List<Object[]> findSearchRowsAfter(@Param("id") Long id, Limit limit);
+
+    // Autocomplete vocabulary: distinct medications with their usage counts
+    @Query("SELECT m, COUNT(p) FROM Patient p JOIN p.medications m GROUP BY m")
+    List<Object[]> countMedications();
+}
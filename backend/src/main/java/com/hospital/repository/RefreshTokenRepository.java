@@ -0,0 +1,36 @@
+package com.hospital.repository;
+
+import com.hospital.dto.RefreshTokenLookup;
+import com.hospital.entity.RefreshToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+
+    @Query("SELECT new com.hospital.dto.RefreshTokenLookup(t.id, t.family, t.sessionStartedAt, t.expiresAt, t.usedAt, "
+            + "u.id, u.email, u.name, u.role) FROM RefreshToken t, User u WHERE u.id = t.userId AND t.tokenHash = :hash")
+    Optional<RefreshTokenLookup> findLookupByTokenHash(@Param("hash") byte[] hash);
+
+    // Claims the token for rotation; 0 rows means another request already used it
+    @Transactional
+    @Modifying
+    @Query("UPDATE RefreshToken t SET t.usedAt = :now WHERE t.id = :id AND t.usedAt IS NULL")
+    int markUsed(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM RefreshToken t WHERE t.family = :family")
+    int deleteByFamily(@Param("family") Long family);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM RefreshToken t WHERE t.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -2,11 +2,17 @@ package com.hospital.repository;
 
 import com.hospital.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
     Boolean existsByEmail(String email);
+
+    // Validator input for lists that embed patient or doctor names
+    @Query("SELECT MAX(u.updatedAt) FROM User u")
+    LocalDateTime findLatestUpdate();
 }
\ No newline at end of file
@@ -0,0 +1,108 @@
+package com.hospital.security;
+
+import com.hospital.entity.RevokedToken;
+import com.hospital.repository.RevokedTokenRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Revoked access tokens, keyed by jti. Almost every lookup is answered by
+ * the Bloom filter alone; only filter hits consult the exact set. Entries
+ * are persisted so they survive restarts, and are dropped once the token
+ * would have expired anyway. The periodic sync also picks up revocations
+ * made on other nodes.
+ */
+@Component
+public class TokenDenylist {
+    private static final Logger logger = LoggerFactory.getLogger(TokenDenylist.class);
+
+    @Autowired
+    private RevokedTokenRepository revokedTokenRepository;
+
+    @Value("${jwt.denylist.expected-entries:100000}")
+    private int expectedEntries;
+
+    @Value("${jwt.denylist.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile State state;
+
+    @PostConstruct
+    void load() {
+        sync();
+    }
+
+    public boolean isRevoked(String jti) {
+        if (jti == null) {
+            return false;
+        }
+        State current = state;
+        return current.filter.mightContain(jti) && current.exact.containsKey(jti);
+    }
+
+    public void revoke(String jti, Date expiresAt) {
+        if (jti == null || expiresAt == null || !expiresAt.after(new Date())) {
+            return;
+        }
+        revokedTokenRepository.save(new RevokedToken(jti,
+                LocalDateTime.ofInstant(expiresAt.toInstant(), ZoneId.systemDefault())));
+        lock.lock();
+        try {
+            state.exact.put(jti, expiresAt.getTime());
+            state.filter.add(jti);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Prunes expired entries and rebuilds both structures from the store,
+     * since a Bloom filter cannot forget.
+     */
+    @Scheduled(fixedDelayString = "${jwt.denylist.sync-ms:60000}", initialDelayString = "${jwt.denylist.sync-ms:60000}")
+    public void sync() {
+        LocalDateTime now = LocalDateTime.now();
+        revokedTokenRepository.deleteExpired(now);
+        List<RevokedToken> stored = revokedTokenRepository.findUnexpired(now);
+
+        Map<String, Long> exact = new ConcurrentHashMap<>();
+        for (RevokedToken token : stored) {
+            exact.put(token.getJti(), token.getExpiresAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+        }
+
+        lock.lock();
+        try {
+            // Keep revocations that landed after the read above
+            long nowMillis = System.currentTimeMillis();
+            if (state != null) {
+                state.exact.forEach((jti, expiry) -> {
+                    if (expiry > nowMillis) {
+                        exact.putIfAbsent(jti, expiry);
+                    }
+                });
+            }
+            BloomFilter filter = new BloomFilter(Math.max(expectedEntries, exact.size() * 2), falsePositiveRate);
+            exact.keySet().forEach(filter::add);
+            state = new State(filter, exact);
+        } finally {
+            lock.unlock();
+        }
+        logger.debug("Token denylist synced: {} revoked tokens", exact.size());
+    }
+
+    private record State(BloomFilter filter, Map<String, Long> exact) {}
+}
@@ -10,13 +10,15 @@ import java.util.List;
 public class UserDetailsImpl implements UserDetails {
     private Long id;
     private String email;
+    private String name;
     private String password;
     private Collection<? extends GrantedAuthority> authorities;
 
-    public UserDetailsImpl(Long id, String email, String password,
+    public UserDetailsImpl(Long id, String email, String name, String password,
                           Collection<? extends GrantedAuthority> authorities) {
         this.id = id;
         this.email = email;
+        this.name = name;
         this.password = password;
         this.authorities = authorities;
     }
@@ -29,10 +31,21 @@ public class UserDetailsImpl implements UserDetails {
         return new UserDetailsImpl(
                 user.getId(),
                 user.getEmail(),
+                user.getName(),
                 user.getPassword(),
                 authorities);
     }
 
+    // Rebuilds the principal from verified token claims; no credentials are held
+    public static UserDetailsImpl fromClaims(Long id, String email, String name, String role) {
+        return new UserDetailsImpl(
+                id,
+                email,
+                name,
+                null,
+                List.of(new SimpleGrantedAuthority("ROLE_" + role)));
+    }
+
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
         return authorities;
@@ -42,6 +55,15 @@ public class UserDetailsImpl implements UserDetails {
         return id;
     }
 
+    public String getName() {
+        return name;
+    }
+
+    public String getRole() {
+        String authority = authorities.iterator().next().getAuthority();
+        return authority.startsWith("ROLE_") ? authority.substring(5) : authority;
+    }
+
     @Override
     public String getPassword() {
         return password;
@@ -1,8 +1,13 @@
 package com.hospital.security;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.DispatcherType;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
@@ -31,6 +36,27 @@ public class WebSecurityConfig {
     @Autowired
     private AuthEntryPointJwt unauthorizedHandler;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${management.server.port:-1}")
+    private int managementPort;
+
+    @Value("${server.port:8080}")
+    private int serverPort;
+
+    @Value("${management.endpoints.web.base-path:/actuator}")
+    private String actuatorBasePath;
+
+    // The management port is trusted without a token, so it must never be the API port
+    @PostConstruct
+    void checkManagementPort() {
+        if (managementPort > 0 && managementPort == serverPort) {
+            throw new IllegalStateException("management.server.port must differ from server.port ("
+                    + serverPort + "): actuator requests on the management port skip authentication");
+        }
+    }
+
     @Bean
     public AuthTokenFilter authenticationJwtTokenFilter() {
         return new AuthTokenFilter();
@@ -51,7 +77,7 @@ public class WebSecurityConfig {
 
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new TimedPasswordEncoder(new BCryptPasswordEncoder(), meterRegistry);
     }
 
     @Bean
@@ -60,9 +86,13 @@ public class WebSecurityConfig {
             .exceptionHandling().authenticationEntryPoint(unauthorizedHandler).and()
             .sessionManagement().sessionCreationPolicy(SessionCreationPolicy.STATELESS).and()
             .authorizeHttpRequests()
-                .requestMatchers("/api/auth/**").permitAll()
-                .requestMatchers("/api/doctors").permitAll()
-                .requestMatchers("/api/doctors/**").permitAll()
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+                .requestMatchers("/auth/**").permitAll()
+                // Actuator on the management port, which is bound to loopback only (management.server.address)
+                .requestMatchers(request -> managementPort > 0 && request.getLocalPort() == managementPort
+                        && request.getRequestURI().startsWith(actuatorBasePath)).permitAll()
+                // Public directory listings only; doctor detail stays behind authentication
+                .requestMatchers(HttpMethod.GET, "/doctors", "/doctors/department/*", "/doctors/specialization/*").permitAll()
                 .anyRequest().authenticated();
 
         http.authenticationProvider(authenticationProvider());
@@ -0,0 +1,7 @@
+package com.hospital.service;
+
+public class AppointmentConflictException extends RuntimeException {
+    public AppointmentConflictException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,167 @@
+package com.hospital.service;
+
+import com.hospital.entity.Appointment;
+import com.hospital.entity.AppointmentRollupKey;
+import com.hospital.entity.Doctor;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.action.spi.AfterTransactionCompletionProcess;
+import org.hibernate.action.spi.BeforeTransactionCompletionProcess;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventSource;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps appointment_daily_rollups in step with appointment writes. Hibernate
+ * post-insert/update/delete events collect count changes per session, and
+ * they are upserted just before the transaction commits, after the final
+ * flush, so the buckets commit or roll back with the appointments. An
+ * update only touches the buckets when the date, department, doctor or
+ * status changed.
+ *
+ * Writes that bypass Hibernate (bulk JPQL, plain JDBC) are not seen; the
+ * nightly rebuild in {@link AppointmentRollupService} corrects them.
+ */
+@Component
+public class AppointmentRollupListener implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener {
+    private static final Logger logger = LoggerFactory.getLogger(AppointmentRollupListener.class);
+
+    private static final String UPSERT = "INSERT INTO appointment_daily_rollups "
+            + "(bucket_date, department, doctor_id, status, appointment_count) VALUES (?, ?, ?, ?, ?) "
+            + "ON DUPLICATE KEY UPDATE appointment_count = appointment_count + ?";
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final Map<SharedSessionContractImplementor, PendingDeltas> pending = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void register() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry().getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_INSERT, this);
+        registry.appendListeners(EventType.POST_UPDATE, this);
+        registry.appendListeners(EventType.POST_DELETE, this);
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        if (event.getEntity() instanceof Appointment appointment) {
+            deltas(event.getSession()).add(keyOf(appointment), 1);
+        }
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        if (!(event.getEntity() instanceof Appointment appointment)) {
+            return;
+        }
+        AppointmentRollupKey after = keyOf(appointment);
+        if (event.getOldState() == null) {
+            logger.warn("Appointment {} updated without its previous state; rollups fixed by the next rebuild", appointment.getId());
+            return;
+        }
+        AppointmentRollupKey before = keyOf(event.getPersister(), event.getOldState());
+        if (!before.equals(after)) {
+            PendingDeltas deltas = deltas(event.getSession());
+            deltas.add(before, -1);
+            deltas.add(after, 1);
+        }
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        if (event.getEntity() instanceof Appointment appointment) {
+            deltas(event.getSession()).add(keyOf(appointment), -1);
+        }
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+
+    private PendingDeltas deltas(EventSource session) {
+        return pending.computeIfAbsent(session, s -> {
+            PendingDeltas deltas = new PendingDeltas();
+            session.getActionQueue().registerProcess(deltas);
+            session.getActionQueue().registerProcess((AfterTransactionCompletionProcess) (success, completed) -> pending.remove(completed));
+            return deltas;
+        });
+    }
+
+    private static AppointmentRollupKey keyOf(Appointment appointment) {
+        return new AppointmentRollupKey(appointment.getAppointmentDate(), appointment.getDepartment(),
+                appointment.getDoctor() != null ? appointment.getDoctor().getId() : null, statusOf(appointment.getStatus()));
+    }
+
+    private static AppointmentRollupKey keyOf(EntityPersister persister, Object[] state) {
+        Doctor doctor = (Doctor) state[persister.getEntityMetamodel().getPropertyIndex("doctor")];
+        return new AppointmentRollupKey(
+                (LocalDate) state[persister.getEntityMetamodel().getPropertyIndex("appointmentDate")],
+                (String) state[persister.getEntityMetamodel().getPropertyIndex("department")],
+                doctor != null ? doctor.getId() : null,
+                statusOf((Appointment.Status) state[persister.getEntityMetamodel().getPropertyIndex("status")]));
+    }
+
+    private static String statusOf(Appointment.Status status) {
+        return status != null ? status.name() : "";
+    }
+
+    // Net count change per bucket for one session's transaction
+    private class PendingDeltas implements BeforeTransactionCompletionProcess {
+        private final Map<AppointmentRollupKey, Integer> changes = new HashMap<>();
+
+        void add(AppointmentRollupKey key, int delta) {
+            changes.merge(key, delta, Integer::sum);
+        }
+
+        @Override
+        public void doBeforeTransactionCompletion(SessionImplementor session) {
+            pending.remove(session);
+            changes.values().removeIf(delta -> delta == 0);
+            if (changes.isEmpty()) {
+                return;
+            }
+            session.doWork(connection -> {
+                try (PreparedStatement statement = connection.prepareStatement(UPSERT)) {
+                    for (Map.Entry<AppointmentRollupKey, Integer> change : changes.entrySet()) {
+                        AppointmentRollupKey key = change.getKey();
+                        if (key.getBucketDate() == null || key.getDoctorId() == null) {
+                            continue;
+                        }
+                        statement.setDate(1, Date.valueOf(key.getBucketDate()));
+                        statement.setString(2, key.getDepartment());
+                        statement.setLong(3, key.getDoctorId());
+                        statement.setString(4, key.getStatus());
+                        statement.setLong(5, change.getValue());
+                        statement.setLong(6, change.getValue());
+                        statement.addBatch();
+                    }
+                    statement.executeBatch();
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,235 @@
+package com.hospital.service;
+
+import com.hospital.dto.AppointmentTrendPoint;
+import com.hospital.entity.Appointment;
+import com.hospital.repository.AppointmentRepository;
+import com.hospital.repository.AppointmentRollupRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Appointment trends read from the daily rollup buckets. A trend query
+ * groups at most (days in range) x (requested dimensions) rows in the
+ * database, then folds days into weeks or months here.
+ *
+ * The buckets are kept current by {@link AppointmentRollupListener}. The
+ * rebuild recomputes them from the appointments table one month per
+ * transaction: in full at startup when the table is empty and on demand
+ * for a backfill, and nightly for the days of appointments written in the
+ * trailing rollups.nightly-lookback-hours, to correct writes made outside
+ * Hibernate.
+ */
+@Service
+public class AppointmentRollupService {
+    private static final Logger logger = LoggerFactory.getLogger(AppointmentRollupService.class);
+
+    public enum Interval { DAY, WEEK, MONTH }
+
+    public enum Dimension { DEPARTMENT, DOCTOR, STATUS }
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private AppointmentRollupRepository rollupRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${rollups.max-range-days:1830}")
+    private int maxRangeDays;
+
+    @Value("${rollups.nightly-lookback-hours:48}")
+    private int nightlyLookbackHours;
+
+    // One rebuild at a time, so two runs never delete and reinsert the same month concurrently
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+
+    public List<AppointmentTrendPoint> getTrend(LocalDate from, LocalDate to, String interval, String groupBy,
+                                                String department, Long doctorId, String status) {
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("from must not be after to");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= maxRangeDays) {
+            throw new IllegalArgumentException("Range is limited to " + maxRangeDays + " days");
+        }
+        Interval bucket = parse(Interval.class, interval);
+        Set<Dimension> dimensions = EnumSet.noneOf(Dimension.class);
+        if (groupBy != null) {
+            Arrays.stream(groupBy.split(","))
+                    .map(String::trim)
+                    .filter(name -> !name.isEmpty())
+                    .forEach(name -> dimensions.add(parse(Dimension.class, name)));
+        }
+        String statusFilter = status != null ? parse(Appointment.Status.class, status).name() : null;
+
+        StringBuilder select = new StringBuilder("SELECT r.key.bucketDate");
+        StringBuilder group = new StringBuilder(" GROUP BY r.key.bucketDate");
+        for (Dimension dimension : dimensions) {
+            String path = switch (dimension) {
+                case DEPARTMENT -> "r.key.department";
+                case DOCTOR -> "r.key.doctorId";
+                case STATUS -> "r.key.status";
+            };
+            select.append(", ").append(path);
+            group.append(", ").append(path);
+        }
+        select.append(", SUM(r.appointmentCount) FROM AppointmentDailyRollup r WHERE r.key.bucketDate BETWEEN :from AND :to");
+        if (department != null) {
+            select.append(" AND r.key.department = :department");
+        }
+        if (doctorId != null) {
+            select.append(" AND r.key.doctorId = :doctorId");
+        }
+        if (statusFilter != null) {
+            select.append(" AND r.key.status = :status");
+        }
+        select.append(group).append(" HAVING SUM(r.appointmentCount) > 0 ORDER BY r.key.bucketDate");
+
+        TypedQuery<Object[]> query = entityManager.createQuery(select.toString(), Object[].class)
+                .setParameter("from", from)
+                .setParameter("to", to);
+        if (department != null) {
+            query.setParameter("department", department);
+        }
+        if (doctorId != null) {
+            query.setParameter("doctorId", doctorId);
+        }
+        if (statusFilter != null) {
+            query.setParameter("status", statusFilter);
+        }
+
+        // Rows arrive in date order, so insertion order is period order
+        Map<PointKey, AppointmentTrendPoint> points = new LinkedHashMap<>();
+        for (Object[] row : query.getResultList()) {
+            int column = 1;
+            PointKey key = new PointKey(periodStart((LocalDate) row[0], bucket),
+                    dimensions.contains(Dimension.DEPARTMENT) ? (String) row[column++] : null,
+                    dimensions.contains(Dimension.DOCTOR) ? (Long) row[column++] : null,
+                    dimensions.contains(Dimension.STATUS) ? (String) row[column++] : null);
+            AppointmentTrendPoint point = points.computeIfAbsent(key, k ->
+                    new AppointmentTrendPoint(k.periodStart(), k.department(), k.doctorId(), k.status(), 0));
+            point.setCount(point.getCount() + ((Number) row[column]).longValue());
+        }
+        return new ArrayList<>(points.values());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (rollupRepository.count() == 0) {
+            rebuildAll();
+        }
+    }
+
+    public void rebuildAll() {
+        List<Object[]> range = appointmentRepository.findDateRange();
+        if (range.isEmpty() || range.get(0)[0] == null) {
+            return;
+        }
+        rebuild((LocalDate) range.get(0)[0], (LocalDate) range.get(0)[1]);
+    }
+
+    /**
+     * Rebuilds only the days that hold an appointment written in the lookback
+     * window, so the nightly cost follows the day's writes rather than the
+     * table's history. Consecutive days are rebuilt as one range. A write
+     * outside Hibernate is only seen if it sets updated_at, and one that moves
+     * an appointment to another day leaves the old day to a full rebuild.
+     */
+    @Scheduled(cron = "${rollups.rebuild-cron:0 45 0 * * *}")
+    public void rebuildRecent() {
+        List<LocalDate> dates = appointmentRepository.findDatesUpdatedSince(
+                LocalDateTime.now().minusHours(nightlyLookbackHours));
+        LocalDate from = null;
+        LocalDate to = null;
+        for (LocalDate date : dates) {
+            if (to != null && !date.equals(to.plusDays(1))) {
+                rebuild(from, to);
+                from = null;
+            }
+            if (from == null) {
+                from = date;
+            }
+            to = date;
+        }
+        if (from != null) {
+            rebuild(from, to);
+        }
+    }
+
+    /**
+     * Recomputes the buckets for [from, to] one calendar month per
+     * transaction, so a long backfill never holds locks on the whole range.
+     * Returns the number of bucket rows written.
+     */
+    public long rebuild(LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("from must not be after to");
+        }
+        rebuildLock.lock();
+        try {
+            long started = System.currentTimeMillis();
+            long rows = 0;
+            for (LocalDate start = from; !start.isAfter(to); start = start.with(TemporalAdjusters.firstDayOfNextMonth())) {
+                LocalDate chunkStart = start;
+                LocalDate end = start.with(TemporalAdjusters.lastDayOfMonth());
+                LocalDate chunkEnd = end.isAfter(to) ? to : end;
+                rows += transactionTemplate.execute(tx -> {
+                    rollupRepository.deleteBetween(chunkStart, chunkEnd);
+                    return rollupRepository.insertBetween(chunkStart, chunkEnd);
+                });
+            }
+            logger.info("Appointment rollups rebuilt for {} to {}: {} buckets in {} ms",
+                    from, to, rows, System.currentTimeMillis() - started);
+            return rows;
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    private static LocalDate periodStart(LocalDate date, Interval interval) {
+        return switch (interval) {
+            case DAY -> date;
+            case WEEK -> date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTH -> date.withDayOfMonth(1);
+        };
+    }
+
+    private record PointKey(LocalDate periodStart, String department, Long doctorId, String status) {}
+
+    private static <E extends Enum<E>> E parse(Class<E> type, String value) {
+        try {
+            return Enum.valueOf(type, value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown " + type.getSimpleName().toLowerCase(Locale.ROOT) + ": " + value);
+        }
+    }
+}
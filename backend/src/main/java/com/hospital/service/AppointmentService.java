@@ -1,21 +1,34 @@
 package com.hospital.service;
 
 import com.hospital.dto.AppointmentRequest;
+import com.hospital.dto.AppointmentSeriesRequest;
+import com.hospital.dto.AppointmentSummary;
+import com.hospital.dto.BulkCreateResult;
+import com.hospital.dto.CursorPage;
+import com.hospital.dto.PageCursor;
 import com.hospital.entity.Appointment;
 import com.hospital.entity.Doctor;
 import com.hospital.entity.Patient;
 import com.hospital.repository.AppointmentRepository;
 import com.hospital.repository.DoctorRepository;
 import com.hospital.repository.PatientRepository;
+import org.hibernate.exception.ConstraintViolationException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
 @Service
 public class AppointmentService {
 
+    private static final String SLOT_CONSTRAINT = "uk_appointments_doctor_slot";
+
     @Autowired
     private AppointmentRepository appointmentRepository;
 
@@ -25,24 +38,52 @@ public class AppointmentService {
     @Autowired
     private DoctorRepository doctorRepository;
 
-    public List<Appointment> getAllAppointments() {
-        return appointmentRepository.findAll();
+    @Autowired
+    private PaginationSettings paginationSettings;
+
+    @Autowired
+    private AvailabilityService availabilityService;
+
+    @Autowired
+    private BatchWriter batchWriter;
+
+    @Value("${appointments.update-retries:3}")
+    private int updateRetries;
+
+    @Value("${bulk.max-rows:10000}")
+    private int maxBulkRows;
+
+    public CursorPage<AppointmentSummary> getAppointmentsPage(String cursor, Integer size, boolean includeTotal) {
+        int pageSize = paginationSettings.resolvePageSize(size);
+        PageCursor after = PageCursor.decodeDated(cursor);
+        Limit limit = Limit.of(pageSize + 1);
+
+        List<Long> ids = after == null
+                ? appointmentRepository.findPageIds(limit)
+                : appointmentRepository.findPageIdsAfter(after.getDate(), after.getId(), limit);
+        List<AppointmentSummary> rows = ids.isEmpty() ? List.of()
+                : CursorPage.inIdOrder(ids, appointmentRepository.findSummariesByIds(ids), AppointmentSummary::getId);
+        Long total = paginationSettings.shouldCount(includeTotal) ? appointmentRepository.count() : null;
+
+        return CursorPage.of(rows, pageSize, a -> new PageCursor(a.getAppointmentDate(), a.getId()), total);
     }
 
     public Optional<Appointment> getAppointmentById(Long id) {
         return appointmentRepository.findById(id);
     }
 
-    public List<Appointment> getAppointmentsByPatient(Long patientId) {
-        Patient patient = patientRepository.findById(patientId)
-                .orElseThrow(() -> new RuntimeException("Patient not found"));
-        return appointmentRepository.findByPatient(patient);
+    public List<AppointmentSummary> getAppointmentsByPatient(Long patientId) {
+        if (!patientRepository.existsById(patientId)) {
+            throw new RuntimeException("Patient not found");
+        }
+        return appointmentRepository.findSummariesByPatientId(patientId);
     }
 
-    public List<Appointment> getAppointmentsByDoctor(Long doctorId) {
-        Doctor doctor = doctorRepository.findById(doctorId)
-                .orElseThrow(() -> new RuntimeException("Doctor not found"));
-        return appointmentRepository.findByDoctor(doctor);
+    public List<AppointmentSummary> getAppointmentsByDoctor(Long doctorId) {
+        if (!doctorRepository.existsById(doctorId)) {
+            throw new RuntimeException("Doctor not found");
+        }
+        return appointmentRepository.findSummariesByDoctorId(doctorId);
     }
 
     public Appointment createAppointment(Long patientId, AppointmentRequest request) {
@@ -57,13 +98,88 @@ public class AppointmentService {
                 request.getAppointmentTime(), request.getReason(), request.getDepartment()
         );
         appointment.setNotes(request.getNotes());
+        appointment.setReservedSlot(availabilityService.slotStart(request.getAppointmentTime()));
+
+        AvailabilityService.SlotHold hold = availabilityService.hold(
+                doctor.getId(), request.getAppointmentDate(), request.getAppointmentTime());
+        Appointment saved;
+        try {
+            saved = appointmentRepository.save(appointment);
+        } catch (RuntimeException e) {
+            availabilityService.cancelHold(hold);
+            throw translateSlotViolation(e);
+        }
+        availabilityService.confirm(saved.getId(), hold);
+        return saved;
+    }
+
+    /**
+     * Books a recurring series in one batched transaction. Every slot is
+     * claimed up front, so the series is either booked completely or not
+     * at all.
+     */
+    public BulkCreateResult createAppointmentSeries(Long patientId, AppointmentSeriesRequest request) {
+        if (request.getOccurrences() > maxBulkRows) {
+            throw new IllegalArgumentException("A series may have at most " + maxBulkRows + " appointments");
+        }
+        Patient patient = patientRepository.findById(patientId)
+                .orElseThrow(() -> new RuntimeException("Patient not found"));
+
+        Doctor doctor = doctorRepository.findById(request.getDoctorId())
+                .orElseThrow(() -> new RuntimeException("Doctor not found"));
 
-        return appointmentRepository.save(appointment);
+        List<Appointment> appointments = new ArrayList<>(request.getOccurrences());
+        List<AvailabilityService.SlotHold> holds = new ArrayList<>(request.getOccurrences());
+        try {
+            for (int i = 0; i < request.getOccurrences(); i++) {
+                LocalDate date = request.getStartDate().plusDays((long) i * request.getIntervalDays());
+                Appointment appointment = new Appointment(
+                        patient, doctor, date,
+                        request.getAppointmentTime(), request.getReason(), request.getDepartment()
+                );
+                appointment.setNotes(request.getNotes());
+                appointment.setReservedSlot(availabilityService.slotStart(request.getAppointmentTime()));
+                holds.add(availabilityService.hold(doctor.getId(), date, request.getAppointmentTime()));
+                appointments.add(appointment);
+            }
+            batchWriter.persistAll(appointments);
+        } catch (RuntimeException e) {
+            holds.forEach(availabilityService::cancelHold);
+            throw translateSlotViolation(e);
+        }
+
+        List<Long> ids = new ArrayList<>(appointments.size());
+        for (int i = 0; i < appointments.size(); i++) {
+            Long id = appointments.get(i).getId();
+            availabilityService.confirm(id, holds.get(i));
+            ids.add(id);
+        }
+        return new BulkCreateResult(ids);
     }
 
+    /**
+     * Applies the update, retrying up to appointments.update-retries times
+     * when a concurrent writer bumps the version first. If the client sent
+     * the version it last saw, a mismatch is reported instead of retried.
+     */
     public Appointment updateAppointment(Long id, Appointment appointmentDetails) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return applyUpdate(id, appointmentDetails);
+            } catch (ObjectOptimisticLockingFailureException e) {
+                if (appointmentDetails.getVersion() != null || attempt >= updateRetries) {
+                    throw new AppointmentConflictException("Appointment " + id + " was modified concurrently");
+                }
+            }
+        }
+    }
+
+    private Appointment applyUpdate(Long id, Appointment appointmentDetails) {
         Appointment appointment = appointmentRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Appointment not found"));
+        if (appointmentDetails.getVersion() != null && !appointmentDetails.getVersion().equals(appointment.getVersion())) {
+            throw new AppointmentConflictException("Appointment " + id + " has changed since version " + appointmentDetails.getVersion());
+        }
 
         appointment.setAppointmentDate(appointmentDetails.getAppointmentDate());
         appointment.setAppointmentTime(appointmentDetails.getAppointmentTime());
@@ -71,14 +187,52 @@ public class AppointmentService {
         appointment.setReason(appointmentDetails.getReason());
         appointment.setNotes(appointmentDetails.getNotes());
 
-        return appointmentRepository.save(appointment);
+        Long doctorId = appointment.getDoctor().getId();
+        boolean occupies = availabilityService.occupiesSlot(appointment.getStatus());
+        appointment.setReservedSlot(occupies ? availabilityService.slotStart(appointment.getAppointmentTime()) : null);
+        AvailabilityService.SlotHold hold = null;
+        if (occupies && !availabilityService.isBookedAt(id, doctorId,
+                appointment.getAppointmentDate(), appointment.getAppointmentTime())) {
+            hold = availabilityService.hold(doctorId, appointment.getAppointmentDate(), appointment.getAppointmentTime());
+        }
+
+        Appointment saved;
+        try {
+            saved = appointmentRepository.save(appointment);
+        } catch (RuntimeException e) {
+            if (hold != null) {
+                availabilityService.cancelHold(hold);
+            }
+            throw translateSlotViolation(e);
+        }
+        if (!occupies) {
+            availabilityService.release(id);
+        } else if (hold != null) {
+            availabilityService.confirm(id, hold);
+        }
+        return saved;
+    }
+
+    // The unique slot constraint backs up the in-memory index across nodes
+    private RuntimeException translateSlotViolation(RuntimeException e) {
+        if (e instanceof DataIntegrityViolationException) {
+            for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+                if (cause instanceof ConstraintViolationException violation
+                        && violation.getConstraintName() != null
+                        && violation.getConstraintName().toLowerCase().contains(SLOT_CONSTRAINT)) {
+                    return new SlotUnavailableException("The requested slot is already booked");
+                }
+            }
+        }
+        return e;
     }
 
     public void deleteAppointment(Long id) {
         appointmentRepository.deleteById(id);
+        availabilityService.release(id);
     }
 
-    public List<Appointment> getTodayAppointments() {
-        return appointmentRepository.findByAppointmentDate(LocalDate.now());
+    public List<AppointmentSummary> getTodayAppointments() {
+        return appointmentRepository.findSummariesByDate(LocalDate.now());
     }
 }
\ No newline at end of file
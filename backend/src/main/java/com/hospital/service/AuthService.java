@@ -2,14 +2,13 @@ package com.hospital.service;
 
 import com.hospital.dto.JwtResponse;
 import com.hospital.dto.LoginRequest;
-import com.hospital.entity.User;
-import com.hospital.repository.UserRepository;
+import com.hospital.dto.RefreshRequest;
 import com.hospital.security.JwtUtils;
+import com.hospital.security.TokenDenylist;
+import com.hospital.security.UserDetailsImpl;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
@@ -19,25 +18,54 @@ public class AuthService {
     @Autowired
     AuthenticationManager authenticationManager;
 
-    @Autowired
-    UserRepository userRepository;
-
     @Autowired
     PasswordEncoder encoder;
 
     @Autowired
     JwtUtils jwtUtils;
 
+    @Autowired
+    LoginLane loginLane;
+
+    @Autowired
+    RefreshTokenService refreshTokenService;
+
+    @Autowired
+    TokenDenylist tokenDenylist;
+
+    /**
+     * Verifies the password on the login lane. The principal loaded by the
+     * authentication provider already carries id, name and role, so the user
+     * row is read once per sign-in.
+     */
     public JwtResponse authenticateUser(LoginRequest loginRequest) {
-        Authentication authentication = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(loginRequest.getEmail(), loginRequest.getPassword()));
+        UserDetailsImpl user = loginLane.run(() -> (UserDetailsImpl) authenticationManager.authenticate(
+                new UsernamePasswordAuthenticationToken(loginRequest.getEmail(), loginRequest.getPassword()))
+                .getPrincipal());
+        return respond(user, refreshTokenService.issue(user));
+    }
 
-        SecurityContextHolder.getContext().setAuthentication(authentication);
-        String jwt = jwtUtils.generateJwtToken(authentication);
+    public JwtResponse refresh(RefreshRequest refreshRequest) {
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(refreshRequest.getRefreshToken());
+        return respond(rotation.user(), rotation.refreshToken());
+    }
 
-        User user = userRepository.findByEmail(loginRequest.getEmail())
-                .orElseThrow(() -> new RuntimeException("User not found"));
+    /**
+     * Revokes the presented access token until it expires and, when given,
+     * ends the refresh session it belongs to.
+     */
+    public void logout(String accessToken, String refreshToken) {
+        if (accessToken != null) {
+            jwtUtils.parseClaims(accessToken)
+                    .ifPresent(claims -> tokenDenylist.revoke(claims.getId(), claims.getExpiration()));
+        }
+        if (refreshToken != null && !refreshToken.isBlank()) {
+            refreshTokenService.revokeSession(refreshToken);
+        }
+    }
 
-        return new JwtResponse(jwt, user.getId(), user.getEmail(), user.getName(), user.getRole().toString());
+    private JwtResponse respond(UserDetailsImpl user, String refreshToken) {
+        String jwt = jwtUtils.generateJwtToken(user);
+        return new JwtResponse(jwt, refreshToken, user.getId(), user.getUsername(), user.getName(), user.getRole());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,408 @@
+package com.hospital.service;
+
+import com.hospital.dto.AvailableSlot;
+import com.hospital.entity.Appointment;
+import com.hospital.repository.AppointmentRepository;
+import com.hospital.repository.DoctorRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * In-memory slot occupancy per doctor and day. Each day is a bitset of
+ * fixed-length slots (availability.slot-minutes), so free-slot and
+ * conflict checks are word operations instead of table scans.
+ *
+ * Only today and later are tracked. The index is warmed from the
+ * appointments table at startup, kept current by {@link AppointmentService},
+ * and rebuilt nightly to drop past days. Writes made while a rebuild reads
+ * the table are replayed onto the fresh index before it is swapped in.
+ */
+@Service
+public class AvailabilityService {
+    private static final Logger logger = LoggerFactory.getLogger(AvailabilityService.class);
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private DoctorRepository doctorRepository;
+
+    @Value("${availability.slot-minutes:30}")
+    private int slotMinutes;
+
+    @Value("${availability.day-start:08:00}")
+    private LocalTime dayStart;
+
+    @Value("${availability.day-end:17:00}")
+    private LocalTime dayEnd;
+
+    @Value("${availability.horizon-days:90}")
+    private int horizonDays;
+
+    private volatile Index index = new Index();
+
+    // One rebuild at a time; pendingDuringRebuild belongs to the rebuild holding it
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    // Orders index writes against the rebuild's replay and swap; reads stay lock-free
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private List<Consumer<Index>> pendingDuringRebuild;
+
+    private int slotsPerDay;
+    private long[] workingMask;
+
+    @PostConstruct
+    void initMask() {
+        slotsPerDay = (24 * 60) / slotMinutes;
+        workingMask = new long[(slotsPerDay + 63) / 64];
+        int first = (dayStart.getHour() * 60 + dayStart.getMinute() + slotMinutes - 1) / slotMinutes;
+        int end = (dayEnd.getHour() * 60 + dayEnd.getMinute()) / slotMinutes;
+        for (int slot = first; slot < end && slot < slotsPerDay; slot++) {
+            workingMask[slot >>> 6] |= 1L << (slot & 63);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        rebuild();
+    }
+
+    @Scheduled(cron = "${availability.rebuild-cron:0 5 0 * * *}")
+    public void rebuild() {
+        rebuildLock.lock();
+        try {
+            writeLock.lock();
+            try {
+                pendingDuringRebuild = new ArrayList<>();
+            } finally {
+                writeLock.unlock();
+            }
+
+            Index fresh = new Index();
+            try {
+                load(fresh, LocalDate.now());
+            } catch (RuntimeException e) {
+                writeLock.lock();
+                try {
+                    pendingDuringRebuild = null;
+                } finally {
+                    writeLock.unlock();
+                }
+                throw e;
+            }
+
+            int replayed;
+            writeLock.lock();
+            try {
+                replayed = pendingDuringRebuild.size();
+                pendingDuringRebuild.forEach(change -> change.accept(fresh));
+                pendingDuringRebuild = null;
+                index = fresh;
+            } finally {
+                writeLock.unlock();
+            }
+            logger.info("Availability index built: {} bookings across {} doctors, {} concurrent writes replayed",
+                    fresh.bookings.size(), fresh.calendars.size(), replayed);
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    private void load(Index target, LocalDate today) {
+        for (Object[] row : doctorRepository.findIdsAndDepartments()) {
+            target.departments.put((Long) row[0], row[1] != null ? (String) row[1] : "");
+        }
+        List<Object[]> rows = appointmentRepository.findActiveSlotsFrom(today, Appointment.Status.CANCELLED);
+        for (Object[] row : rows) {
+            Long appointmentId = (Long) row[0];
+            SlotHold hold = new SlotHold((Long) row[1], (LocalDate) row[2], slotOf((LocalTime) row[3]));
+            if (occupy(target, hold)) {
+                target.bookings.put(appointmentId, hold);
+            } else {
+                logger.warn("Appointment {} overlaps an existing booking for doctor {} on {}",
+                        appointmentId, hold.doctorId, hold.date);
+            }
+        }
+    }
+
+    public void registerDoctor(Long doctorId, String department) {
+        String value = department != null ? department : "";
+        apply(target -> target.departments.put(doctorId, value));
+    }
+
+    public void removeDoctor(Long doctorId) {
+        apply(target -> {
+            target.departments.remove(doctorId);
+            target.calendars.remove(doctorId);
+        });
+    }
+
+    public boolean occupiesSlot(Appointment.Status status) {
+        return status != Appointment.Status.CANCELLED;
+    }
+
+    /**
+     * Claims the slot for a booking about to be written. Past days are not
+     * tracked and always succeed.
+     */
+    public SlotHold hold(Long doctorId, LocalDate date, LocalTime time) {
+        if (date.isBefore(LocalDate.now())) {
+            return SlotHold.UNTRACKED;
+        }
+        SlotHold hold = new SlotHold(doctorId, date, slotOf(time));
+        writeLock.lock();
+        try {
+            if (!occupy(index, hold)) {
+                throw new SlotUnavailableException("Doctor " + doctorId + " is already booked at " + date + " " + slotStart(hold.slot));
+            }
+            // Replayed as a plain occupy: a fresh index that already read the booking keeps it
+            if (pendingDuringRebuild != null) {
+                pendingDuringRebuild.add(target -> occupy(target, hold));
+            }
+        } finally {
+            writeLock.unlock();
+        }
+        return hold;
+    }
+
+    // Gives a hold back when the write it was taken for fails
+    public void cancelHold(SlotHold hold) {
+        if (hold != SlotHold.UNTRACKED) {
+            apply(target -> free(target, hold));
+        }
+    }
+
+    // Binds a successful hold to the saved appointment, freeing its previous slot
+    public void confirm(Long appointmentId, SlotHold hold) {
+        apply(target -> {
+            SlotHold previous = hold != SlotHold.UNTRACKED
+                    ? target.bookings.put(appointmentId, hold)
+                    : target.bookings.remove(appointmentId);
+            if (previous != null && !previous.equals(hold)) {
+                free(target, previous);
+            }
+        });
+    }
+
+    public void release(Long appointmentId) {
+        apply(target -> {
+            SlotHold previous = target.bookings.remove(appointmentId);
+            if (previous != null) {
+                free(target, previous);
+            }
+        });
+    }
+
+    public boolean isBookedAt(Long appointmentId, Long doctorId, LocalDate date, LocalTime time) {
+        SlotHold current = index.bookings.get(appointmentId);
+        return current != null && current.equals(new SlotHold(doctorId, date, slotOf(time)));
+    }
+
+    public Map<LocalDate, List<LocalTime>> getFreeSlots(Long doctorId, LocalDate from, int days) {
+        LocalDate start = from.isBefore(LocalDate.now()) ? LocalDate.now() : from;
+        int span = Math.max(1, Math.min(days, horizonDays));
+        DoctorCalendar calendar = index.calendars.get(doctorId);
+
+        Map<LocalDate, List<LocalTime>> result = new LinkedHashMap<>();
+        for (int i = 0; i < span; i++) {
+            LocalDate date = start.plusDays(i);
+            long[] free = freeWords(calendar, date);
+            List<LocalTime> times = new ArrayList<>();
+            for (int slot = nextSetBit(free, 0); slot >= 0; slot = nextSetBit(free, slot + 1)) {
+                times.add(slotStart(slot));
+            }
+            result.put(date, times);
+        }
+        return result;
+    }
+
+    public AvailableSlot findEarliestInDepartment(String department, LocalDate from) {
+        LocalDate start = from.isBefore(LocalDate.now()) ? LocalDate.now() : from;
+        Index current = index;
+        List<Long> doctorIds = new ArrayList<>();
+        current.departments.forEach((id, dept) -> {
+            if (dept.equalsIgnoreCase(department)) {
+                doctorIds.add(id);
+            }
+        });
+        Collections.sort(doctorIds);
+        if (doctorIds.isEmpty()) {
+            return null;
+        }
+
+        for (int i = 0; i < horizonDays; i++) {
+            LocalDate date = start.plusDays(i);
+            Long bestDoctor = null;
+            int bestSlot = Integer.MAX_VALUE;
+            for (Long doctorId : doctorIds) {
+                int slot = nextSetBit(freeWords(current.calendars.get(doctorId), date), 0);
+                if (slot >= 0 && slot < bestSlot) {
+                    bestSlot = slot;
+                    bestDoctor = doctorId;
+                }
+            }
+            if (bestDoctor != null) {
+                return new AvailableSlot(bestDoctor, date, slotStart(bestSlot));
+            }
+        }
+        return null;
+    }
+
+    // Free working slots for a day; slots already in the past are masked out
+    private long[] freeWords(DoctorCalendar calendar, LocalDate date) {
+        long[] free = workingMask.clone();
+        if (calendar != null) {
+            long[] occupied = calendar.snapshot(date);
+            if (occupied != null) {
+                for (int w = 0; w < free.length; w++) {
+                    free[w] &= ~occupied[w];
+                }
+            }
+        }
+        if (date.equals(LocalDate.now())) {
+            LocalDateTime now = LocalDateTime.now();
+            int firstFuture = (now.getHour() * 60 + now.getMinute()) / slotMinutes + 1;
+            for (int slot = 0; slot < Math.min(firstFuture, slotsPerDay); slot++) {
+                free[slot >>> 6] &= ~(1L << (slot & 63));
+            }
+        }
+        return free;
+    }
+
+    private void apply(Consumer<Index> change) {
+        writeLock.lock();
+        try {
+            change.accept(index);
+            if (pendingDuringRebuild != null) {
+                pendingDuringRebuild.add(change);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private boolean occupy(Index target, SlotHold hold) {
+        return target.calendars.computeIfAbsent(hold.doctorId, id -> new DoctorCalendar(slotsPerDay))
+                .tryOccupy(hold.date, hold.slot);
+    }
+
+    private void free(Index target, SlotHold hold) {
+        DoctorCalendar calendar = target.calendars.get(hold.doctorId);
+        if (calendar != null) {
+            calendar.free(hold.date, hold.slot);
+        }
+    }
+
+    private int slotOf(LocalTime time) {
+        return (time.getHour() * 60 + time.getMinute()) / slotMinutes;
+    }
+
+    public LocalTime slotStart(LocalTime time) {
+        return slotStart(slotOf(time));
+    }
+
+    private LocalTime slotStart(int slot) {
+        return LocalTime.MIDNIGHT.plusMinutes((long) slot * slotMinutes);
+    }
+
+    private static int nextSetBit(long[] words, int from) {
+        int w = from >>> 6;
+        if (w >= words.length) {
+            return -1;
+        }
+        long word = words[w] & (-1L << (from & 63));
+        while (true) {
+            if (word != 0) {
+                return (w << 6) + Long.numberOfTrailingZeros(word);
+            }
+            if (++w == words.length) {
+                return -1;
+            }
+            word = words[w];
+        }
+    }
+
+    /** A claimed (doctor, day, slot) triple. */
+    public static final class SlotHold {
+        static final SlotHold UNTRACKED = new SlotHold(-1L, LocalDate.MIN, -1);
+
+        private final Long doctorId;
+        private final LocalDate date;
+        private final int slot;
+
+        SlotHold(Long doctorId, LocalDate date, int slot) {
+            this.doctorId = doctorId;
+            this.date = date;
+            this.slot = slot;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof SlotHold other)) return false;
+            return slot == other.slot && doctorId.equals(other.doctorId) && date.equals(other.date);
+        }
+
+        @Override
+        public int hashCode() {
+            return (doctorId.hashCode() * 31 + date.hashCode()) * 31 + slot;
+        }
+    }
+
+    /** Everything a rebuild replaces in one swap. */
+    private static final class Index {
+        final Map<Long, DoctorCalendar> calendars = new ConcurrentHashMap<>();
+        final Map<Long, SlotHold> bookings = new ConcurrentHashMap<>();
+        final Map<Long, String> departments = new ConcurrentHashMap<>();
+    }
+
+    private static final class DoctorCalendar {
+        private final int words;
+        private final Map<LocalDate, long[]> days = new HashMap<>();
+
+        DoctorCalendar(int slotsPerDay) {
+            this.words = (slotsPerDay + 63) / 64;
+        }
+
+        synchronized boolean tryOccupy(LocalDate date, int slot) {
+            long[] bits = days.computeIfAbsent(date, d -> new long[words]);
+            long mask = 1L << (slot & 63);
+            if ((bits[slot >>> 6] & mask) != 0) {
+                return false;
+            }
+            bits[slot >>> 6] |= mask;
+            return true;
+        }
+
+        synchronized void free(LocalDate date, int slot) {
+            long[] bits = days.get(date);
+            if (bits != null) {
+                bits[slot >>> 6] &= ~(1L << (slot & 63));
+            }
+        }
+
+        synchronized long[] snapshot(LocalDate date) {
+            long[] bits = days.get(date);
+            return bits != null ? bits.clone() : null;
+        }
+    }
+}
@@ -1,9 +1,19 @@
 package com.hospital.service;
 
+import com.hospital.dto.BillRequest;
+import com.hospital.dto.BillSummary;
+import com.hospital.dto.BillTotal;
+import com.hospital.dto.CursorPage;
+import com.hospital.dto.PageCursor;
+import com.hospital.dto.PatientBalance;
 import com.hospital.entity.Bill;
+import com.hospital.entity.Patient;
 import com.hospital.repository.BillRepository;
+import com.hospital.repository.PatientRepository;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
@@ -11,31 +21,81 @@ import java.util.Optional;
 public class BillService {
 
     private final BillRepository billRepository;
+    private final PatientRepository patientRepository;
+    private final PaginationSettings paginationSettings;
 
-    public BillService(BillRepository billRepository) {
+    public BillService(BillRepository billRepository, PatientRepository patientRepository,
+                       PaginationSettings paginationSettings) {
         this.billRepository = billRepository;
+        this.patientRepository = patientRepository;
+        this.paginationSettings = paginationSettings;
     }
 
-    public List<Bill> getAllBills() {
-        return billRepository.findAll();
+    public CursorPage<BillSummary> getBillsPage(String cursor, Integer size, boolean includeTotal) {
+        int pageSize = paginationSettings.resolvePageSize(size);
+        PageCursor after = PageCursor.decode(cursor);
+        Limit limit = Limit.of(pageSize + 1);
+
+        List<BillSummary> rows = after == null
+                ? billRepository.findSummaries(limit)
+                : billRepository.findSummariesAfter(after.getId(), limit);
+        Long total = paginationSettings.shouldCount(includeTotal) ? billRepository.count() : null;
+
+        return CursorPage.of(rows, pageSize, b -> new PageCursor(null, b.getId()), total);
+    }
+
+    public CursorPage<BillSummary> getBillsByPatientPage(Long patientId, String cursor, Integer size, boolean includeTotal) {
+        if (!patientRepository.existsById(patientId)) {
+            throw new RuntimeException("Patient not found");
+        }
+        int pageSize = paginationSettings.resolvePageSize(size);
+        PageCursor after = PageCursor.decode(cursor);
+        Limit limit = Limit.of(pageSize + 1);
+
+        List<BillSummary> rows = after == null
+                ? billRepository.findSummariesByPatientId(patientId, limit)
+                : billRepository.findSummariesByPatientIdAfter(patientId, after.getId(), limit);
+        Long total = paginationSettings.shouldCount(includeTotal) ? billRepository.countByPatientId(patientId) : null;
+
+        return CursorPage.of(rows, pageSize, b -> new PageCursor(null, b.getId()), total);
     }
 
     public Optional<Bill> getBillById(Long id) {
         return billRepository.findById(id);
     }
 
-    public Bill createBill(Bill bill) {
+    public Optional<PatientBalance> getPatientBalance(Long patientId) {
+        return billRepository.findBalanceByPatientId(patientId);
+    }
+
+    public List<PatientBalance> getLargestBalances(Integer size) {
+        return billRepository.findLargestBalances(Limit.of(paginationSettings.resolvePageSize(size)));
+    }
+
+    public List<BillTotal> getRevenueByDate(Bill.Status status, LocalDate from, LocalDate to) {
+        checkRange(from, to);
+        return billRepository.sumByDate(status, from, to);
+    }
+
+    public List<BillTotal> getRevenueByDepartment(Bill.Status status, LocalDate from, LocalDate to) {
+        checkRange(from, to);
+        return billRepository.sumByDepartment(status, from, to);
+    }
+
+    public List<BillTotal> getStatusTotals() {
+        return billRepository.sumByStatus();
+    }
+
+    public Bill createBill(BillRequest request) {
+        Bill bill = new Bill();
+        apply(bill, request);
         return billRepository.save(bill);
     }
 
-    public Bill updateBill(Long id, Bill updatedBill) {
+    public Bill updateBill(Long id, BillRequest request) {
         return billRepository.findById(id)
             .map(existing -> {
-                existing.setPatient(updatedBill.getPatient());
-                existing.setAmount(updatedBill.getAmount());
-                existing.setStatus(updatedBill.getStatus());
-                existing.setDate(updatedBill.getDate());
-                existing.setDescription(updatedBill.getDescription());
+                apply(existing, request);
                 return billRepository.save(existing);
             })
             .orElseThrow(() -> new RuntimeException("Bill not found"));
@@ -44,4 +104,21 @@ public class BillService {
     public void deleteBill(Long id) {
         billRepository.deleteById(id);
     }
+
+    private void apply(Bill bill, BillRequest request) {
+        Patient patient = patientRepository.findById(request.getPatientId())
+                .orElseThrow(() -> new RuntimeException("Patient not found"));
+        bill.setPatient(patient);
+        bill.setAmount(request.getAmount());
+        bill.setStatus(request.getStatus() != null ? request.getStatus() : Bill.Status.PENDING);
+        bill.setDate(request.getDate() != null ? request.getDate() : LocalDate.now());
+        bill.setDepartment(request.getDepartment());
+        bill.setDescription(request.getDescription());
+    }
+
+    private static void checkRange(LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("from must not be after to");
+        }
+    }
 }
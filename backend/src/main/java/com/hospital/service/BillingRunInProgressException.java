@@ -0,0 +1,7 @@
+package com.hospital.service;
+
+public class BillingRunInProgressException extends RuntimeException {
+    public BillingRunInProgressException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,215 @@
+package com.hospital.service;
+
+import com.hospital.entity.Appointment;
+import com.hospital.entity.Bill;
+import com.hospital.entity.BillingRun;
+import com.hospital.repository.AppointmentRepository;
+import com.hospital.repository.BillingRunRepository;
+import com.hospital.repository.PatientRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * End-of-day billing: one PENDING bill per completed appointment, priced
+ * from the doctor's consultation fee.
+ *
+ * A run keyset-scans the day's completed appointment ids and cuts them into
+ * id ranges of billing.chunk-size. Each range is billed on the
+ * worker pool in its own transaction: charges are read in one query, bills
+ * are written as JDBC batches through {@link BatchWriter}, and the run's
+ * counters advance in the same commit. The committed bills are the
+ * checkpoint, since "unbilled" excludes them and the unique appointment_id
+ * on bills rejects a second bill. A failed or interrupted day can
+ * therefore simply be run again.
+ *
+ * A claim is identified by its startedAt. Chunk commits and the final
+ * status update only apply while the row still carries that value, so a
+ * run whose lease was taken over rolls back its next chunk and stops.
+ */
+@Service
+public class BillingRunService {
+    private static final Logger logger = LoggerFactory.getLogger(BillingRunService.class);
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    @Autowired
+    private BillingRunRepository billingRunRepository;
+
+    @Autowired
+    private BatchWriter batchWriter;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${billing.threads:4}")
+    private int threads;
+
+    @Value("${billing.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${billing.catch-up-days:7}")
+    private int catchUpDays;
+
+    @Value("${billing.lease-minutes:30}")
+    private long leaseMinutes;
+
+    private ExecutorService executor;
+
+    @PostConstruct
+    void start() {
+        AtomicInteger sequence = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(threads, task -> {
+            Thread thread = new Thread(task, "billing-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdownNow();
+    }
+
+    // Also sweeps the previous catch-up-days, which picks up appointments completed after the last run
+    @Scheduled(cron = "${billing.run-cron:0 30 23 * * *}")
+    public void runEndOfDay() {
+        LocalDate today = LocalDate.now();
+        for (LocalDate date = today.minusDays(catchUpDays); !date.isAfter(today); date = date.plusDays(1)) {
+            try {
+                run(date);
+            } catch (BillingRunInProgressException e) {
+                logger.info("Skipping billing for {}: {}", date, e.getMessage());
+            } catch (RuntimeException e) {
+                logger.error("Billing run for {} failed", date, e);
+            }
+        }
+    }
+
+    public Optional<BillingRun> getRun(LocalDate date) {
+        return billingRunRepository.findById(date);
+    }
+
+    public BillingRun run(LocalDate date) {
+        LocalDateTime claimedAt = claim(date);
+        long started = System.currentTimeMillis();
+        AtomicBoolean leaseLost = new AtomicBoolean();
+
+        List<Future<?>> chunks = new ArrayList<>();
+        String error = null;
+        try {
+            Long after = 0L;
+            List<Long> ids;
+            do {
+                ids = appointmentRepository.findIdsByDateAndStatus(date, Appointment.Status.COMPLETED, after, Limit.of(chunkSize));
+                if (!ids.isEmpty()) {
+                    Long firstId = ids.get(0);
+                    Long lastId = ids.get(ids.size() - 1);
+                    if (billingRunRepository.recordChunkQueued(date, claimedAt) == 0) {
+                        leaseLost.set(true);
+                        break;
+                    }
+                    chunks.add(executor.submit(() -> billChunk(date, claimedAt, leaseLost, firstId, lastId)));
+                    after = lastId;
+                }
+            } while (ids.size() == chunkSize && !leaseLost.get());
+        } catch (RuntimeException e) {
+            error = e.getMessage();
+            logger.error("Billing scan for {} failed", date, e);
+        }
+
+        for (Future<?> chunk : chunks) {
+            try {
+                chunk.get();
+            } catch (ExecutionException e) {
+                error = e.getCause().getMessage();
+                if (!(e.getCause() instanceof BillingRunInProgressException)) {
+                    logger.error("Billing chunk for {} failed", date, e.getCause());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                error = "Interrupted";
+                break;
+            }
+        }
+
+        BillingRun.Status status = error == null ? BillingRun.Status.COMPLETED : BillingRun.Status.FAILED;
+        if (billingRunRepository.finish(date, claimedAt, status, chunks.size(), LocalDateTime.now(),
+                error != null && error.length() > 1000 ? error.substring(0, 1000) : error) == 0) {
+            throw new BillingRunInProgressException("Billing for " + date + " was taken over by another run");
+        }
+        BillingRun run = billingRunRepository.findById(date).orElseThrow();
+        logger.info("Billing run for {} {}: {} chunks, {} bills in total, {} unpriced, {} ms", date, status,
+                chunks.size(), run.getBillsCreated(), run.getUnpriced(), System.currentTimeMillis() - started);
+        return run;
+    }
+
+    private LocalDateTime claim(LocalDate date) {
+        if (!billingRunRepository.existsById(date)) {
+            try {
+                billingRunRepository.save(new BillingRun(date));
+            } catch (DataIntegrityViolationException e) {
+                // Created concurrently; the claim below decides who runs
+            }
+        }
+        // Millisecond precision survives every DATETIME/TIMESTAMP column round trip, so the fence compares exactly
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+        if (billingRunRepository.claim(date, now, now.minusMinutes(leaseMinutes)) == 0) {
+            throw new BillingRunInProgressException("Billing for " + date + " is already running");
+        }
+        return now;
+    }
+
+    private void billChunk(LocalDate date, LocalDateTime claimedAt, AtomicBoolean leaseLost, Long firstId, Long lastId) {
+        if (leaseLost.get()) {
+            throw new BillingRunInProgressException("Billing for " + date + " was taken over by another run");
+        }
+        transactionTemplate.executeWithoutResult(tx -> {
+            List<Bill> bills = new ArrayList<>();
+            long unpriced = 0;
+            for (Object[] row : appointmentRepository.findUnbilledCharges(date, Appointment.Status.COMPLETED, firstId, lastId)) {
+                BigDecimal fee = (BigDecimal) row[3];
+                if (fee == null) {
+                    unpriced++;
+                    continue;
+                }
+                Bill bill = new Bill(patientRepository.getReferenceById((Long) row[1]), fee, date, (String) row[2],
+                        "Consultation on " + date);
+                bill.setAppointmentId((Long) row[0]);
+                bills.add(bill);
+            }
+            batchWriter.persistAll(bills);
+            // Throwing rolls the chunk's bills back with the counters
+            if (billingRunRepository.recordChunk(date, claimedAt, bills.size(), unpriced) == 0) {
+                leaseLost.set(true);
+                throw new BillingRunInProgressException("Billing for " + date + " was taken over by another run");
+            }
+        });
+    }
+}
@@ -0,0 +1,177 @@
+package com.hospital.service;
+
+import com.hospital.dto.Suggestion;
+import com.hospital.repository.MedicalRecordRepository;
+import com.hospital.repository.PatientRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BiConsumer;
+
+/**
+ * Autocomplete for the medication and diagnosis values doctors type into
+ * medical records. Each vocabulary is a {@link WeightedPrefixTrie} weighted
+ * by how many records (and patient medication lists) use the value.
+ *
+ * Loaded at startup, kept current by {@link MedicalRecordService} and
+ * {@link PatientService}, and rebuilt nightly so weights cannot drift.
+ */
+@Service
+public class ClinicalVocabularyService {
+    private static final Logger logger = LoggerFactory.getLogger(ClinicalVocabularyService.class);
+
+    public enum Vocabulary {
+        MEDICATIONS, DIAGNOSES;
+
+        public static Vocabulary fromParam(String value) {
+            try {
+                return valueOf(value.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unknown vocabulary: " + value);
+            }
+        }
+    }
+
+    @Autowired
+    private MedicalRecordRepository medicalRecordRepository;
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    @Value("${autocomplete.max-results:20}")
+    private int maxResults;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // One rebuild at a time; pendingDuringRebuild belongs to the rebuild holding it
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private WeightedPrefixTrie medications = new WeightedPrefixTrie();
+    private WeightedPrefixTrie diagnoses = new WeightedPrefixTrie();
+    // Adjustments made while a rebuild counts, replayed onto the fresh tries before the swap
+    private List<BiConsumer<WeightedPrefixTrie, WeightedPrefixTrie>> pendingDuringRebuild;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        rebuild();
+    }
+
+    @Scheduled(cron = "${autocomplete.rebuild-cron:0 15 0 * * *}")
+    public void rebuild() {
+        rebuildLock.lock();
+        try {
+            lock.writeLock().lock();
+            try {
+                pendingDuringRebuild = new ArrayList<>();
+            } finally {
+                lock.writeLock().unlock();
+            }
+
+            WeightedPrefixTrie freshMedications = new WeightedPrefixTrie();
+            WeightedPrefixTrie freshDiagnoses = new WeightedPrefixTrie();
+            try {
+                for (Object[] row : medicalRecordRepository.countMedications()) {
+                    freshMedications.add((String) row[0], (Long) row[1]);
+                }
+                for (Object[] row : patientRepository.countMedications()) {
+                    freshMedications.add((String) row[0], (Long) row[1]);
+                }
+                for (Object[] row : medicalRecordRepository.countDiagnoses()) {
+                    freshDiagnoses.add((String) row[0], (Long) row[1]);
+                }
+            } catch (RuntimeException e) {
+                lock.writeLock().lock();
+                try {
+                    pendingDuringRebuild = null;
+                } finally {
+                    lock.writeLock().unlock();
+                }
+                throw e;
+            }
+
+            lock.writeLock().lock();
+            try {
+                pendingDuringRebuild.forEach(change -> change.accept(freshMedications, freshDiagnoses));
+                pendingDuringRebuild = null;
+                medications = freshMedications;
+                diagnoses = freshDiagnoses;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            logger.info("Clinical vocabulary loaded: {} medications, {} diagnoses",
+                    freshMedications.size(), freshDiagnoses.size());
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    public List<Suggestion> complete(Vocabulary vocabulary, String prefix, int limit) {
+        int k = Math.max(1, Math.min(limit, maxResults));
+        lock.readLock().lock();
+        try {
+            return (vocabulary == Vocabulary.MEDICATIONS ? medications : diagnoses).complete(prefix, k);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void recordAdded(String diagnosis, Collection<String> recordMedications) {
+        adjust(diagnosis, recordMedications, 1);
+    }
+
+    public void recordRemoved(String diagnosis, Collection<String> recordMedications) {
+        adjust(diagnosis, recordMedications, -1);
+    }
+
+    public void patientMedicationsChanged(Collection<String> before, Collection<String> after) {
+        // Copied: a replay onto a rebuild's tries runs after the caller's entity lists may have changed
+        List<String> removed = before == null ? List.of() : new ArrayList<>(before);
+        List<String> added = after == null ? List.of() : new ArrayList<>(after);
+        apply((targetMedications, targetDiagnoses) -> {
+            adjustAll(targetMedications, removed, -1);
+            adjustAll(targetMedications, added, 1);
+        });
+    }
+
+    private void adjust(String diagnosis, Collection<String> recordMedications, long delta) {
+        List<String> values = recordMedications == null ? List.of() : new ArrayList<>(recordMedications);
+        apply((targetMedications, targetDiagnoses) -> {
+            if (diagnosis != null) {
+                targetDiagnoses.add(diagnosis, delta);
+            }
+            adjustAll(targetMedications, values, delta);
+        });
+    }
+
+    private void apply(BiConsumer<WeightedPrefixTrie, WeightedPrefixTrie> change) {
+        lock.writeLock().lock();
+        try {
+            change.accept(medications, diagnoses);
+            if (pendingDuringRebuild != null) {
+                pendingDuringRebuild.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static void adjustAll(WeightedPrefixTrie trie, Collection<String> values, long delta) {
+        if (values != null) {
+            for (String value : values) {
+                if (value != null) {
+                    trie.add(value, delta);
+                }
+            }
+        }
+    }
+}
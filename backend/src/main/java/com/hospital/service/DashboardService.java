@@ -1,19 +1,257 @@
-// src/main/java/com/yourcompany/hospital/service/DashboardService.java
+package com.hospital.service;
 
-package com.yourcompany.hospital.service;
-
-import com.yourcompany.hospital.dto.DashboardStats;
+import com.hospital.dto.DashboardStats;
+import com.hospital.repository.AppointmentRepository;
+import com.hospital.repository.BillRepository;
+import com.hospital.repository.DoctorRepository;
+import com.hospital.repository.PatientRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
 
+/**
+ * Keeps the dashboard counters in memory. Entity lifecycle events
+ * (see {@link DashboardStatsListener}) adjust them after each commit, a
+ * scheduled reconciliation re-reads them from the database, and
+ * {@link #getStats()} only returns the last published snapshot.
+ *
+ * Appointments are tracked by id for the trend window plus tomorrow, so
+ * moves between dates are applied exactly and the day rollover needs no
+ * query.
+ *
+ * Events that arrive while a reconciliation is reading are kept and
+ * replayed onto what it read. Id-keyed changes replay exactly. The patient
+ * and doctor totals are plain counts, so a total that moved during the
+ * read keeps its live value until the next reconciliation.
+ */
 @Service
 public class DashboardService {
+    private static final Logger logger = LoggerFactory.getLogger(DashboardService.class);
+
+    static final int TREND_DAYS = 7;
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    @Autowired
+    private DoctorRepository doctorRepository;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private BillRepository billRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    // A template rather than @Transactional: warmUp() calls reconcile() on this, bypassing the proxy
+    private TransactionTemplate readOnlyTransaction;
+    private final ReentrantLock reconcileLock = new ReentrantLock();
+
+    private long totalPatients;
+    private long totalDoctors;
+    private long patientChanges;
+    private long doctorChanges;
+    private List<Runnable> changesDuringReconcile;
+    private final Map<Long, LocalDate> trackedAppointments = new HashMap<>();
+    private final Map<LocalDate, Long> appointmentsByDate = new HashMap<>();
+    private final Set<Long> pendingBillIds = new HashSet<>();
+
+    private volatile LocalDate snapshotDate;
+    private volatile DashboardStats snapshot = new DashboardStats(0, 0, 0, 0, Collections.emptyMap());
+
+    @PostConstruct
+    void init() {
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+    }
 
     public DashboardStats getStats() {
-        DashboardStats stats = new DashboardStats();
-        stats.setTotalPatients(125); // replace with actual DB call
-        stats.setTotalDoctors(34);   // replace with actual DB call
-        stats.setTodayAppointments(12); // logic for today's appointments
-        stats.setPendingBills(8);    // logic for unpaid bills
-        return stats;
+        if (!LocalDate.now().equals(snapshotDate)) {
+            rollOver();
+        }
+        return snapshot;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        reconcile();
+    }
+
+    @Scheduled(cron = "${dashboard.reconcile-cron:0 */5 * * * *}")
+    public void reconcile() {
+        reconcileLock.lock();
+        try {
+            long patientsBefore;
+            long doctorsBefore;
+            synchronized (this) {
+                changesDuringReconcile = new ArrayList<>();
+                patientsBefore = patientChanges;
+                doctorsBefore = doctorChanges;
+            }
+
+            LocalDate today = LocalDate.now();
+            DatabaseCounts counts;
+            try {
+                counts = readOnlyTransaction.execute(tx -> new DatabaseCounts(
+                        patientRepository.count(),
+                        doctorRepository.count(),
+                        appointmentRepository.findIdsAndDatesBetween(windowStart(today), windowEnd(today)),
+                        billRepository.findPendingBillIds()));
+            } catch (RuntimeException e) {
+                synchronized (this) {
+                    changesDuringReconcile = null;
+                }
+                throw e;
+            }
+
+            synchronized (this) {
+                if (patientChanges == patientsBefore) {
+                    totalPatients = counts.patients();
+                }
+                if (doctorChanges == doctorsBefore) {
+                    totalDoctors = counts.doctors();
+                }
+                trackedAppointments.clear();
+                appointmentsByDate.clear();
+                for (Object[] row : counts.appointments()) {
+                    trackAppointment((Long) row[0], (LocalDate) row[1]);
+                }
+                pendingBillIds.clear();
+                pendingBillIds.addAll(counts.pendingBills());
+                changesDuringReconcile.forEach(Runnable::run);
+                changesDuringReconcile = null;
+                publish(LocalDate.now());
+            }
+            logger.debug("Dashboard statistics reconciled: {} patients, {} doctors, {} tracked appointments",
+                    counts.patients(), counts.doctors(), counts.appointments().size());
+        } finally {
+            reconcileLock.unlock();
+        }
+    }
+
+    public synchronized void patientAdded() {
+        totalPatients++;
+        patientChanges++;
+        publish(LocalDate.now());
+    }
+
+    public synchronized void patientRemoved() {
+        totalPatients = Math.max(0, totalPatients - 1);
+        patientChanges++;
+        publish(LocalDate.now());
+    }
+
+    public synchronized void doctorAdded() {
+        totalDoctors++;
+        doctorChanges++;
+        publish(LocalDate.now());
+    }
+
+    public synchronized void doctorRemoved() {
+        totalDoctors = Math.max(0, totalDoctors - 1);
+        doctorChanges++;
+        publish(LocalDate.now());
+    }
+
+    public synchronized void appointmentSaved(Long id, LocalDate date) {
+        apply(() -> {
+            LocalDate today = LocalDate.now();
+            untrackAppointment(id);
+            if (date != null && !date.isBefore(windowStart(today)) && !date.isAfter(windowEnd(today))) {
+                trackAppointment(id, date);
+            }
+        });
+    }
+
+    public synchronized void appointmentRemoved(Long id) {
+        apply(() -> untrackAppointment(id));
+    }
+
+    public synchronized void billSaved(Long id, boolean pending) {
+        apply(() -> {
+            if (pending) {
+                pendingBillIds.add(id);
+            } else {
+                pendingBillIds.remove(id);
+            }
+        });
+    }
+
+    public synchronized void billRemoved(Long id) {
+        apply(() -> pendingBillIds.remove(id));
+    }
+
+    // Callers hold the monitor
+    private void apply(Runnable change) {
+        change.run();
+        if (changesDuringReconcile != null) {
+            changesDuringReconcile.add(change);
+        }
+        publish(LocalDate.now());
+    }
+
+    private synchronized void rollOver() {
+        LocalDate today = LocalDate.now();
+        if (today.equals(snapshotDate)) {
+            return;
+        }
+        LocalDate start = windowStart(today);
+        trackedAppointments.values().removeIf(date -> date.isBefore(start));
+        appointmentsByDate.keySet().removeIf(date -> date.isBefore(start));
+        publish(today);
+    }
+
+    private void trackAppointment(Long id, LocalDate date) {
+        trackedAppointments.put(id, date);
+        appointmentsByDate.merge(date, 1L, Long::sum);
+    }
+
+    private void untrackAppointment(Long id) {
+        LocalDate previous = trackedAppointments.remove(id);
+        if (previous != null) {
+            appointmentsByDate.computeIfPresent(previous, (date, count) -> count > 1 ? count - 1 : null);
+        }
+    }
+
+    private void publish(LocalDate today) {
+        Map<LocalDate, Long> trend = new LinkedHashMap<>();
+        for (int i = TREND_DAYS - 1; i >= 0; i--) {
+            LocalDate date = today.minusDays(i);
+            trend.put(date, appointmentsByDate.getOrDefault(date, 0L));
+        }
+        snapshot = new DashboardStats(totalPatients, totalDoctors,
+                appointmentsByDate.getOrDefault(today, 0L), pendingBillIds.size(),
+                Collections.unmodifiableMap(trend));
+        snapshotDate = today;
+    }
+
+    private record DatabaseCounts(long patients, long doctors, List<Object[]> appointments, List<Long> pendingBills) {}
+
+    private static LocalDate windowStart(LocalDate today) {
+        return today.minusDays(TREND_DAYS - 1);
+    }
+
+    private static LocalDate windowEnd(LocalDate today) {
+        return today.plusDays(1);
     }
 }
@@ -0,0 +1,92 @@
+package com.hospital.service;
+
+import com.hospital.entity.Appointment;
+import com.hospital.entity.Bill;
+import com.hospital.entity.Doctor;
+import com.hospital.entity.Patient;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.function.Consumer;
+
+/**
+ * JPA entity listener feeding {@link DashboardService}. Changes are applied
+ * after the surrounding transaction commits so rolled-back writes never
+ * reach the counters.
+ */
+@Component
+public class DashboardStatsListener {
+
+    // Resolved lazily: the listener is created with the EntityManagerFactory
+    private final ObjectProvider<DashboardService> dashboardService;
+
+    public DashboardStatsListener(ObjectProvider<DashboardService> dashboardService) {
+        this.dashboardService = dashboardService;
+    }
+
+    @PostPersist
+    public void onPersist(Object entity) {
+        if (entity instanceof Patient) {
+            afterCommit(DashboardService::patientAdded);
+        } else if (entity instanceof Doctor) {
+            afterCommit(DashboardService::doctorAdded);
+        } else {
+            onSave(entity);
+        }
+    }
+
+    @PostUpdate
+    public void onUpdate(Object entity) {
+        onSave(entity);
+    }
+
+    @PostRemove
+    public void onRemove(Object entity) {
+        if (entity instanceof Patient) {
+            afterCommit(DashboardService::patientRemoved);
+        } else if (entity instanceof Doctor) {
+            afterCommit(DashboardService::doctorRemoved);
+        } else if (entity instanceof Appointment appointment) {
+            Long id = appointment.getId();
+            afterCommit(service -> service.appointmentRemoved(id));
+        } else if (entity instanceof Bill bill) {
+            Long id = bill.getId();
+            afterCommit(service -> service.billRemoved(id));
+        }
+    }
+
+    private void onSave(Object entity) {
+        if (entity instanceof Appointment appointment) {
+            Long id = appointment.getId();
+            LocalDate date = appointment.getAppointmentDate();
+            afterCommit(service -> service.appointmentSaved(id, date));
+        } else if (entity instanceof Bill bill) {
+            Long id = bill.getId();
+            boolean pending = bill.getStatus() == Bill.Status.PENDING;
+            afterCommit(service -> service.billSaved(id, pending));
+        }
+    }
+
+    private void afterCommit(Consumer<DashboardService> change) {
+        DashboardService service = dashboardService.getIfAvailable();
+        if (service == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    change.accept(service);
+                }
+            });
+        } else {
+            change.accept(service);
+        }
+    }
+}
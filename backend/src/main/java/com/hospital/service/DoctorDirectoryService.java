@@ -0,0 +1,152 @@
+package com.hospital.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hospital.dto.DoctorSummary;
+import com.hospital.repository.DoctorRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Pre-encoded public doctor directory. The full list and the per-department
+ * and per-specialization lists are serialized and gzipped once, when a
+ * doctor is saved, updated or deleted, and swapped in as one snapshot, so
+ * directory reads never reach the database.
+ */
+@Service
+public class DoctorDirectoryService {
+    private static final Logger logger = LoggerFactory.getLogger(DoctorDirectoryService.class);
+
+    @Autowired
+    private DoctorRepository doctorRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // One rebuild at a time, so an older read of the doctors never replaces a newer snapshot
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+
+    private volatile Snapshot snapshot;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        rebuild();
+    }
+
+    public void rebuild() {
+        rebuildLock.lock();
+        try {
+            List<DoctorSummary> doctors = doctorRepository.findAllSummaries();
+            Map<String, List<DoctorSummary>> byDepartment = new HashMap<>();
+            Map<String, List<DoctorSummary>> bySpecialization = new HashMap<>();
+            for (DoctorSummary doctor : doctors) {
+                if (doctor.getDepartment() != null) {
+                    byDepartment.computeIfAbsent(key(doctor.getDepartment()), k -> new ArrayList<>()).add(doctor);
+                }
+                if (doctor.getSpecialization() != null) {
+                    bySpecialization.computeIfAbsent(key(doctor.getSpecialization()), k -> new ArrayList<>()).add(doctor);
+                }
+            }
+
+            Map<String, View> departments = new HashMap<>();
+            byDepartment.forEach((department, list) -> departments.put(department, encode(list)));
+            Map<String, View> specializations = new HashMap<>();
+            bySpecialization.forEach((specialization, list) -> specializations.put(specialization, encode(list)));
+
+            snapshot = new Snapshot(encode(doctors), encode(List.of()), departments, specializations);
+            logger.debug("Doctor directory rebuilt: {} doctors, {} departments, {} specializations",
+                    doctors.size(), departments.size(), specializations.size());
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    public View all() {
+        return current().all;
+    }
+
+    public View byDepartment(String department) {
+        Snapshot current = current();
+        return current.departments.getOrDefault(key(department), current.empty);
+    }
+
+    public View bySpecialization(String specialization) {
+        Snapshot current = current();
+        return current.specializations.getOrDefault(key(specialization), current.empty);
+    }
+
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            rebuild();
+            current = snapshot;
+        }
+        return current;
+    }
+
+    // Department and specialization filters have always been case-insensitive (MySQL collation)
+    private static String key(String value) {
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private View encode(List<DoctorSummary> doctors) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(doctors);
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream(json.length / 4 + 64);
+            try (GZIPOutputStream gzip = new GZIPOutputStream(buffer)) {
+                gzip.write(json);
+            }
+            String hash = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(json), 0, 16);
+            return new View(json, buffer.toByteArray(), hash);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize doctor directory", e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record Snapshot(View all, View empty, Map<String, View> departments, Map<String, View> specializations) {}
+
+    /** One encoded list; each encoding has its own strong ETag. */
+    public static final class View {
+        private final byte[] json;
+        private final byte[] gzip;
+        private final String etag;
+        private final String gzipEtag;
+
+        View(byte[] json, byte[] gzip, String hash) {
+            this.json = json;
+            this.gzip = gzip;
+            this.etag = "\"" + hash + "\"";
+            this.gzipEtag = "\"" + hash + "-gz\"";
+        }
+
+        public byte[] getJson() { return json; }
+
+        public byte[] getGzip() { return gzip; }
+
+        public String getEtag() { return etag; }
+
+        public String getGzipEtag() { return gzipEtag; }
+    }
+}
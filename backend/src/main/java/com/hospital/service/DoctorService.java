@@ -16,24 +16,17 @@ public class DoctorService {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
-    public List<Doctor> getAllDoctors() {
-        return doctorRepository.findAll();
-    }
+    @Autowired
+    private AvailabilityService availabilityService;
+
+    @Autowired
+    private DoctorDirectoryService doctorDirectoryService;
 
     public Doctor getDoctorById(Long id) {
     return doctorRepository.findById(id)
             .orElseThrow(() -> new RuntimeException("Doctor not found"));
 }
 
-public List<Doctor> getDoctorsBySpecialization(String specialization) {
-    return doctorRepository.findBySpecialization(specialization);
-}
-
-
-    public List<Doctor> getDoctorsByDepartment(String department) {
-        return doctorRepository.findByDepartment(department);
-    }
-
     public Doctor saveDoctor(Doctor doctor) {
     if (doctor.getPassword() != null) {
         doctor.setPassword(passwordEncoder.encode(doctor.getPassword()));
@@ -42,7 +35,10 @@ public List<Doctor> getDoctorsBySpecialization(String specialization) {
     // Ensure role is set correctly
     doctor.setRole(Doctor.Role.DOCTOR);
 
-    return doctorRepository.save(doctor);
+    Doctor saved = doctorRepository.save(doctor);
+    availabilityService.registerDoctor(saved.getId(), saved.getDepartment());
+    doctorDirectoryService.rebuild();
+    return saved;
 }
 
 
@@ -63,11 +59,16 @@ public List<Doctor> getDoctorsBySpecialization(String specialization) {
         doctor.setCertifications(doctorDetails.getCertifications());
         doctor.setLanguages(doctorDetails.getLanguages());
 
-        return doctorRepository.save(doctor);
+        Doctor saved = doctorRepository.save(doctor);
+        availabilityService.registerDoctor(saved.getId(), saved.getDepartment());
+        doctorDirectoryService.rebuild();
+        return saved;
     }
 
     public void deleteDoctor(Long id) {
         doctorRepository.deleteById(id);
+        availabilityService.removeDoctor(id);
+        doctorDirectoryService.rebuild();
     }
 
     
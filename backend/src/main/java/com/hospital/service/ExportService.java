@@ -0,0 +1,250 @@
+package com.hospital.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hospital.entity.Appointment;
+import com.hospital.entity.MedicalRecord;
+import com.hospital.repository.AppointmentRepository;
+import com.hospital.repository.MedicalRecordRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Streams whole tables to a client without materializing them. Rows are
+ * read through a forward-only cursor and written in chunks; the persistence
+ * context is cleared after each chunk so heap use does not grow with the
+ * table.
+ */
+@Service
+public class ExportService {
+
+    private static final List<String> MEDICAL_RECORD_COLUMNS = List.of(
+            "id", "patientId", "doctorId", "recordDate", "diagnosis", "treatment",
+            "medications", "notes", "followUpDate", "createdAt", "updatedAt");
+
+    private static final List<String> APPOINTMENT_COLUMNS = List.of(
+            "id", "patientId", "doctorId", "appointmentDate", "appointmentTime", "status",
+            "reason", "notes", "department", "createdAt", "updatedAt");
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private MedicalRecordRepository medicalRecordRepository;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${export.chunk-size:500}")
+    private int chunkSize;
+
+    @Transactional(readOnly = true)
+    public void exportMedicalRecords(OutputStream out, ExportFormat format, boolean gzip) throws IOException {
+        try (RowWriter writer = openWriter(out, format, gzip, MEDICAL_RECORD_COLUMNS);
+             Stream<MedicalRecord> records = medicalRecordRepository.streamAllForExport()) {
+            forEachChunk(records.iterator(), chunk -> {
+                Map<Long, List<String>> medications = loadMedications(chunk);
+                for (MedicalRecord record : chunk) {
+                    Map<String, Object> row = new LinkedHashMap<>();
+                    row.put("id", record.getId());
+                    row.put("patientId", record.getPatient().getId());
+                    row.put("doctorId", record.getDoctor().getId());
+                    row.put("recordDate", record.getRecordDate());
+                    row.put("diagnosis", record.getDiagnosis());
+                    row.put("treatment", record.getTreatment());
+                    row.put("medications", medications.getOrDefault(record.getId(), List.of()));
+                    row.put("notes", record.getNotes());
+                    row.put("followUpDate", record.getFollowUpDate());
+                    row.put("createdAt", record.getCreatedAt());
+                    row.put("updatedAt", record.getUpdatedAt());
+                    writer.write(row);
+                }
+            }, writer);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public void exportAppointments(OutputStream out, ExportFormat format, boolean gzip) throws IOException {
+        try (RowWriter writer = openWriter(out, format, gzip, APPOINTMENT_COLUMNS);
+             Stream<Appointment> appointments = appointmentRepository.streamAllForExport()) {
+            forEachChunk(appointments.iterator(), chunk -> {
+                for (Appointment appointment : chunk) {
+                    Map<String, Object> row = new LinkedHashMap<>();
+                    row.put("id", appointment.getId());
+                    row.put("patientId", appointment.getPatient().getId());
+                    row.put("doctorId", appointment.getDoctor().getId());
+                    row.put("appointmentDate", appointment.getAppointmentDate());
+                    row.put("appointmentTime", appointment.getAppointmentTime());
+                    row.put("status", appointment.getStatus());
+                    row.put("reason", appointment.getReason());
+                    row.put("notes", appointment.getNotes());
+                    row.put("department", appointment.getDepartment());
+                    row.put("createdAt", appointment.getCreatedAt());
+                    row.put("updatedAt", appointment.getUpdatedAt());
+                    writer.write(row);
+                }
+            }, writer);
+        }
+    }
+
+    private <T> void forEachChunk(Iterator<T> rows, Consumer<List<T>> handler, RowWriter writer) {
+        List<T> chunk = new ArrayList<>(chunkSize);
+        while (rows.hasNext()) {
+            chunk.add(rows.next());
+            if (chunk.size() == chunkSize || !rows.hasNext()) {
+                handler.accept(chunk);
+                writer.flush();
+                chunk.clear();
+                entityManager.clear();
+            }
+        }
+    }
+
+    private Map<Long, List<String>> loadMedications(List<MedicalRecord> chunk) {
+        List<Long> ids = chunk.stream().map(MedicalRecord::getId).collect(Collectors.toList());
+        Map<Long, List<String>> medications = new HashMap<>();
+        for (Object[] row : medicalRecordRepository.findMedicationsByRecordIds(ids)) {
+            medications.computeIfAbsent((Long) row[0], id -> new ArrayList<>()).add((String) row[1]);
+        }
+        return medications;
+    }
+
+    private RowWriter openWriter(OutputStream out, ExportFormat format, boolean gzip, List<String> columns)
+            throws IOException {
+        OutputStream target = gzip ? new GZIPOutputStream(out, 64 * 1024) : out;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(target, StandardCharsets.UTF_8), 64 * 1024);
+        return format == ExportFormat.CSV
+                ? new CsvRowWriter(writer, columns)
+                : new NdjsonRowWriter(writer, objectMapper);
+    }
+
+    private abstract static class RowWriter implements AutoCloseable {
+        protected final Writer writer;
+
+        RowWriter(Writer writer) {
+            this.writer = writer;
+        }
+
+        abstract void write(Map<String, Object> row);
+
+        void flush() {
+            try {
+                writer.flush();
+            } catch (IOException e) {
+                throw new ExportAbortedException(e);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            writer.close();
+        }
+    }
+
+    private static class NdjsonRowWriter extends RowWriter {
+        private final JsonGenerator generator;
+
+        NdjsonRowWriter(Writer writer, ObjectMapper objectMapper) throws IOException {
+            super(writer);
+            this.generator = objectMapper.getFactory().createGenerator(writer);
+            this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            this.generator.setRootValueSeparator(null);
+        }
+
+        @Override
+        void write(Map<String, Object> row) {
+            try {
+                generator.writeObject(row);
+                generator.writeRaw('\n');
+            } catch (IOException e) {
+                throw new ExportAbortedException(e);
+            }
+        }
+
+        @Override
+        void flush() {
+            try {
+                generator.flush();
+            } catch (IOException e) {
+                throw new ExportAbortedException(e);
+            }
+            super.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            generator.close();
+            super.close();
+        }
+    }
+
+    private static class CsvRowWriter extends RowWriter {
+        private final List<String> columns;
+
+        CsvRowWriter(Writer writer, List<String> columns) throws IOException {
+            super(writer);
+            this.columns = columns;
+            writer.write(String.join(",", columns));
+            writer.write("\r\n");
+        }
+
+        @Override
+        void write(Map<String, Object> row) {
+            try {
+                for (int i = 0; i < columns.size(); i++) {
+                    if (i > 0) {
+                        writer.write(',');
+                    }
+                    writer.write(escape(row.get(columns.get(i))));
+                }
+                writer.write("\r\n");
+            } catch (IOException e) {
+                throw new ExportAbortedException(e);
+            }
+        }
+
+        private static String escape(Object value) {
+            if (value == null) {
+                return "";
+            }
+            String text = value instanceof List<?> list
+                    ? list.stream().map(String::valueOf).collect(Collectors.joining(";"))
+                    : value.toString();
+            if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0) {
+                return '"' + text.replace("\"", "\"\"") + '"';
+            }
+            return text;
+        }
+    }
+
+    /** Thrown when the client goes away mid-export. */
+    public static class ExportAbortedException extends RuntimeException {
+        public ExportAbortedException(IOException cause) {
+            super(cause);
+        }
+    }
+}
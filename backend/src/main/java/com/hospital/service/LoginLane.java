@@ -0,0 +1,124 @@
+package com.hospital.service;
+
+import com.hospital.config.RequestQueryStats;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Dedicated execution lane for password logins. BCrypt is pure CPU, so the
+ * workers are platform threads sized to the cores, and a bounded queue in
+ * front of them rejects immediately once full. A sign-in storm therefore
+ * ties up at most workers + queue-capacity request threads and leaves the
+ * remaining cores to the rest of the API.
+ */
+@Component
+public class LoginLane {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${login.workers:0}")
+    private int workers;
+
+    @Value("${login.queue-capacity:64}")
+    private int queueCapacity;
+
+    @Value("${login.timeout-ms:5000}")
+    private long timeoutMs;
+
+    private ThreadPoolExecutor executor;
+    private Timer queueWait;
+    private Counter rejected;
+
+    @PostConstruct
+    void start() {
+        int threads = workers > 0 ? workers : Runtime.getRuntime().availableProcessors();
+        AtomicInteger sequence = new AtomicInteger();
+        executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                task -> {
+                    Thread thread = new Thread(task, "login-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        Gauge.builder("login.queue.depth", executor, e -> e.getQueue().size())
+                .description("Logins waiting for a worker")
+                .register(meterRegistry);
+        Gauge.builder("login.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Logins being verified")
+                .register(meterRegistry);
+        queueWait = Timer.builder("login.queue.wait")
+                .description("Time a login waited for a worker")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        rejected = Counter.builder("login.rejected")
+                .description("Logins turned away because the lane was full or too slow")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Runs the login on the lane and waits for it. Throws
+     * {@link LoginRejectedException} when the queue is full or the login
+     * does not finish within login.timeout-ms; a queued login that times out
+     * is cancelled before it reaches the hash.
+     */
+    public <T> T run(Callable<T> login) {
+        long queuedAt = System.nanoTime();
+        // The login's statements count toward the request that waits for it
+        RequestQueryStats requestStats = RequestQueryStats.handOff();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                queueWait.record(System.nanoTime() - queuedAt, TimeUnit.NANOSECONDS);
+                return RequestQueryStats.callAs(requestStats, login);
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new LoginRejectedException("Sign-in is busy, retry shortly");
+        }
+
+        try {
+            T result = future.get(timeoutMs, TimeUnit.MILLISECONDS);
+            RequestQueryStats.adopt(requestStats);
+            return result;
+        } catch (TimeoutException e) {
+            future.cancel(false);
+            rejected.increment();
+            throw new LoginRejectedException("Sign-in timed out, retry shortly");
+        } catch (InterruptedException e) {
+            future.cancel(false);
+            Thread.currentThread().interrupt();
+            throw new LoginRejectedException("Sign-in was interrupted");
+        } catch (ExecutionException e) {
+            RequestQueryStats.adopt(requestStats);
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
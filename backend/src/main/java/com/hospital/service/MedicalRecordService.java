@@ -1,6 +1,10 @@
 package com.hospital.service;
 
+import com.hospital.dto.BulkCreateResult;
+import com.hospital.dto.CursorPage;
 import com.hospital.dto.MedicalRecordRequest;
+import com.hospital.dto.MedicalRecordSummary;
+import com.hospital.dto.PageCursor;
 import com.hospital.entity.MedicalRecord;
 import com.hospital.entity.Doctor;
 import com.hospital.entity.Patient;
@@ -8,8 +12,14 @@ import com.hospital.repository.MedicalRecordRepository;
 import com.hospital.repository.DoctorRepository;
 import com.hospital.repository.PatientRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
@@ -24,24 +34,49 @@ public class MedicalRecordService {
     @Autowired
     private DoctorRepository doctorRepository;
 
-    public List<MedicalRecord> getAllMedicalRecords() {
-        return medicalRecordRepository.findAll();
+    @Autowired
+    private PaginationSettings paginationSettings;
+
+    @Autowired
+    private BatchWriter batchWriter;
+
+    @Autowired
+    private ClinicalVocabularyService clinicalVocabularyService;
+
+    @Value("${bulk.max-rows:10000}")
+    private int maxBulkRows;
+
+    public CursorPage<MedicalRecordSummary> getMedicalRecordsPage(String cursor, Integer size, boolean includeTotal) {
+        int pageSize = paginationSettings.resolvePageSize(size);
+        PageCursor after = PageCursor.decodeDated(cursor);
+        Limit limit = Limit.of(pageSize + 1);
+
+        List<Long> ids = after == null
+                ? medicalRecordRepository.findPageIds(limit)
+                : medicalRecordRepository.findPageIdsAfter(after.getDate(), after.getId(), limit);
+        List<MedicalRecordSummary> rows = ids.isEmpty() ? List.of()
+                : CursorPage.inIdOrder(ids, medicalRecordRepository.findSummariesByIds(ids), MedicalRecordSummary::getId);
+        Long total = paginationSettings.shouldCount(includeTotal) ? medicalRecordRepository.count() : null;
+
+        return CursorPage.of(rows, pageSize, r -> new PageCursor(r.getRecordDate(), r.getId()), total);
     }
 
     public Optional<MedicalRecord> getMedicalRecordById(Long id) {
         return medicalRecordRepository.findById(id);
     }
 
-    public List<MedicalRecord> getMedicalRecordsByPatient(Long patientId) {
-        Patient patient = patientRepository.findById(patientId)
-                .orElseThrow(() -> new RuntimeException("Patient not found"));
-        return medicalRecordRepository.findByPatientOrderByRecordDateDesc(patient);
+    public List<MedicalRecordSummary> getMedicalRecordsByPatient(Long patientId) {
+        if (!patientRepository.existsById(patientId)) {
+            throw new RuntimeException("Patient not found");
+        }
+        return medicalRecordRepository.findSummariesByPatientId(patientId);
     }
 
-    public List<MedicalRecord> getMedicalRecordsByDoctor(Long doctorId) {
-        Doctor doctor = doctorRepository.findById(doctorId)
-                .orElseThrow(() -> new RuntimeException("Doctor not found"));
-        return medicalRecordRepository.findByDoctor(doctor);
+    public List<MedicalRecordSummary> getMedicalRecordsByDoctor(Long doctorId) {
+        if (!doctorRepository.existsById(doctorId)) {
+            throw new RuntimeException("Doctor not found");
+        }
+        return medicalRecordRepository.findSummariesByDoctorId(doctorId);
     }
 
     public MedicalRecord createMedicalRecord(MedicalRecordRequest request) {
@@ -59,12 +94,56 @@ public class MedicalRecordService {
         record.setNotes(request.getNotes());
         record.setFollowUpDate(request.getFollowUpDate());
 
-        return medicalRecordRepository.save(record);
+        MedicalRecord saved = medicalRecordRepository.save(record);
+        clinicalVocabularyService.recordAdded(saved.getDiagnosis(), saved.getMedications());
+        return saved;
+    }
+
+    /**
+     * Creates a batch of records (for example a doctor's whole day) with
+     * batched inserts. Patients and doctors are loaded once per batch.
+     */
+    public BulkCreateResult createMedicalRecords(List<MedicalRecordRequest> requests) {
+        if (requests.size() > maxBulkRows) {
+            throw new IllegalArgumentException("A batch may have at most " + maxBulkRows + " records");
+        }
+        Map<Long, Patient> patients = new HashMap<>();
+        patientRepository.findAllById(requests.stream().map(MedicalRecordRequest::getPatientId).distinct().toList())
+                .forEach(patient -> patients.put(patient.getId(), patient));
+        Map<Long, Doctor> doctors = new HashMap<>();
+        doctorRepository.findAllById(requests.stream().map(MedicalRecordRequest::getDoctorId).distinct().toList())
+                .forEach(doctor -> doctors.put(doctor.getId(), doctor));
+
+        List<MedicalRecord> records = new ArrayList<>(requests.size());
+        for (MedicalRecordRequest request : requests) {
+            Patient patient = patients.get(request.getPatientId());
+            if (patient == null) {
+                throw new RuntimeException("Patient not found");
+            }
+            Doctor doctor = doctors.get(request.getDoctorId());
+            if (doctor == null) {
+                throw new RuntimeException("Doctor not found");
+            }
+            MedicalRecord record = new MedicalRecord(
+                    patient, doctor, request.getRecordDate(),
+                    request.getDiagnosis(), request.getTreatment()
+            );
+            record.setMedications(request.getMedications());
+            record.setNotes(request.getNotes());
+            record.setFollowUpDate(request.getFollowUpDate());
+            records.add(record);
+        }
+
+        batchWriter.persistAll(records);
+        records.forEach(record -> clinicalVocabularyService.recordAdded(record.getDiagnosis(), record.getMedications()));
+        return new BulkCreateResult(records.stream().map(MedicalRecord::getId).toList());
     }
 
     public MedicalRecord updateMedicalRecord(Long id, MedicalRecord recordDetails) {
         MedicalRecord record = medicalRecordRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Medical record not found"));
+        String previousDiagnosis = record.getDiagnosis();
+        List<String> previousMedications = copyOf(record.getMedications());
 
         record.setRecordDate(recordDetails.getRecordDate());
         record.setDiagnosis(recordDetails.getDiagnosis());
@@ -72,11 +151,27 @@ public class MedicalRecordService {
         record.setMedications(recordDetails.getMedications());
         record.setNotes(recordDetails.getNotes());
         record.setFollowUpDate(recordDetails.getFollowUpDate());
+        // Medication-only edits touch no medical_records column, so @PreUpdate would not fire
+        record.setUpdatedAt(LocalDateTime.now());
 
-        return medicalRecordRepository.save(record);
+        MedicalRecord saved = medicalRecordRepository.save(record);
+        clinicalVocabularyService.recordRemoved(previousDiagnosis, previousMedications);
+        clinicalVocabularyService.recordAdded(saved.getDiagnosis(), saved.getMedications());
+        return saved;
     }
 
     public void deleteMedicalRecord(Long id) {
+        Optional<MedicalRecord> existing = medicalRecordRepository.findById(id);
+        String diagnosis = existing.map(MedicalRecord::getDiagnosis).orElse(null);
+        List<String> medications = existing.map(record -> copyOf(record.getMedications())).orElse(List.of());
+
         medicalRecordRepository.deleteById(id);
+        if (existing.isPresent()) {
+            clinicalVocabularyService.recordRemoved(diagnosis, medications);
+        }
+    }
+
+    private static List<String> copyOf(List<String> values) {
+        return values != null ? new ArrayList<>(values) : List.of();
     }
 }
\ No newline at end of file
@@ -0,0 +1,28 @@
+package com.hospital.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+public class PaginationSettings {
+
+    @Value("${pagination.default-page-size:20}")
+    private int defaultPageSize;
+
+    @Value("${pagination.max-page-size:100}")
+    private int maxPageSize;
+
+    @Value("${pagination.total-count-enabled:true}")
+    private boolean totalCountEnabled;
+
+    public int resolvePageSize(Integer requested) {
+        if (requested == null || requested <= 0) {
+            return Math.min(defaultPageSize, maxPageSize);
+        }
+        return Math.min(requested, maxPageSize);
+    }
+
+    public boolean shouldCount(boolean requested) {
+        return requested && totalCountEnabled;
+    }
+}
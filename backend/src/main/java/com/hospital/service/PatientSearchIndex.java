@@ -0,0 +1,439 @@
+package com.hospital.service;
+
+import com.hospital.dto.PatientSummary;
+
+import java.text.Normalizer;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+
+/**
+ * Inverted index over the fields front-desk staff search patients by.
+ *
+ * Terms live in a sorted map so a prefix is a range scan. Name terms are
+ * also keyed by their single-character deletions, which finds every name
+ * within one edit of a query token without scanning the dictionary.
+ *
+ * Not thread-safe; {@link PatientSearchService} guards access.
+ */
+final class PatientSearchIndex {
+    static final byte NAME = 0;
+    static final byte EMAIL = 1;
+    static final byte PHONE = 2;
+    static final byte DATE_OF_BIRTH = 3;
+    static final byte INSURANCE = 4;
+
+    private static final double[] FIELD_WEIGHT = {3.0, 2.0, 2.0, 1.5, 1.5};
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern DIGITS_QUERY = Pattern.compile("[\\d()+\\-./]*\\d[\\d()+\\-./]*");
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final int MAX_QUERY_TOKENS = 8;
+    private static final double FUZZY_SCORE = 0.4;
+
+    private final int fuzzyMinLength;
+    private final int prefixMinLength;
+    // Hash-keyed while bulk loading; sorted (for prefix range scans) once loaded
+    private Map<String, Postings> terms = new HashMap<>();
+    private NavigableMap<String, Postings> sortedTerms;
+    private final Map<String, List<String>> deletions = new HashMap<>();
+    private final Map<String, Integer> nameTermCounts = new HashMap<>();
+    private final Map<Long, Entry> entries = new HashMap<>();
+
+    PatientSearchIndex(int fuzzyMinLength, int prefixMinLength) {
+        this.fuzzyMinLength = fuzzyMinLength;
+        this.prefixMinLength = prefixMinLength;
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    /**
+     * Ends the bulk load. Inserting millions of terms into a red-black tree
+     * in random order is dominated by cache misses; inserting them sorted
+     * keeps the insertion path hot.
+     */
+    void finishLoading() {
+        String[] keys = terms.keySet().toArray(new String[0]);
+        Arrays.sort(keys);
+        TreeMap<String, Postings> sorted = new TreeMap<>();
+        for (String key : keys) {
+            sorted.put(key, terms.get(key));
+        }
+        terms = sorted;
+        sortedTerms = sorted;
+    }
+
+    void put(Long id, String name, String email, String phone, LocalDate dateOfBirth, String bloodType,
+             String insurancePolicyNumber, String insuranceGroupNumber) {
+        remove(id);
+
+        Map<String, Byte> docTerms = new LinkedHashMap<>();
+        for (String word : words(name)) {
+            addTerm(docTerms, word, NAME);
+        }
+        if (email != null && !email.isBlank()) {
+            String normalized = normalize(email.trim());
+            addTerm(docTerms, normalized, EMAIL);
+            int at = normalized.indexOf('@');
+            for (String word : words(at >= 0 ? normalized.substring(0, at) : normalized)) {
+                addTerm(docTerms, word, EMAIL);
+            }
+        }
+        String phoneDigits = digits(phone);
+        if (!phoneDigits.isEmpty()) {
+            // Callers often leave out the country code or type only the local number or last four digits
+            addTerm(docTerms, phoneDigits, PHONE);
+            if (phoneDigits.length() > 10) {
+                addTerm(docTerms, phoneDigits.substring(phoneDigits.length() - 10), PHONE);
+            }
+            if (phoneDigits.length() > 7) {
+                addTerm(docTerms, phoneDigits.substring(phoneDigits.length() - 7), PHONE);
+            }
+            if (phoneDigits.length() > 4) {
+                addTerm(docTerms, phoneDigits.substring(phoneDigits.length() - 4), PHONE);
+            }
+        }
+        if (dateOfBirth != null) {
+            addTerm(docTerms, digits(dateOfBirth.toString()), DATE_OF_BIRTH);
+        }
+        addIdentifier(docTerms, insurancePolicyNumber);
+        addIdentifier(docTerms, insuranceGroupNumber);
+
+        String[] termArray = new String[docTerms.size()];
+        byte[] fieldArray = new byte[docTerms.size()];
+        int i = 0;
+        for (Map.Entry<String, Byte> term : docTerms.entrySet()) {
+            Postings postings = terms.computeIfAbsent(term.getKey(), Postings::new);
+            postings.add(id, term.getValue());
+            termArray[i] = postings.term;
+            fieldArray[i] = term.getValue();
+            i++;
+            if (term.getValue() == NAME && nameTermCounts.merge(term.getKey(), 1, Integer::sum) == 1) {
+                indexDeletions(term.getKey());
+            }
+        }
+        entries.put(id, new Entry(new PatientSummary(id, name, email, phone, dateOfBirth, bloodType), termArray, fieldArray));
+    }
+
+    void remove(Long id) {
+        Entry entry = entries.remove(id);
+        if (entry == null) {
+            return;
+        }
+        for (int i = 0; i < entry.terms.length; i++) {
+            String term = entry.terms[i];
+            Postings postings = terms.get(term);
+            postings.remove(id);
+            if (postings.isEmpty()) {
+                terms.remove(term);
+            }
+            if (entry.fields[i] == NAME && nameTermCounts.merge(term, -1, Integer::sum) == 0) {
+                nameTermCounts.remove(term);
+                unindexDeletions(term);
+            }
+        }
+    }
+
+    /**
+     * Ranks patients matching every query token and returns the best
+     * {@code limit}. Candidates and their first score come straight from the
+     * postings of the longest token's exact, prefix and (optionally) one-edit
+     * matches, capped at {@code maxCandidates}; any remaining tokens are
+     * checked against each candidate's own terms. When even the longest token
+     * is shorter than the prefix minimum it only matches whole terms.
+     */
+    Result search(String query, boolean fuzzy, int limit, int maxCandidates) {
+        List<String> tokens = queryTokens(query);
+        if (tokens.isEmpty() || limit <= 0) {
+            return new Result(List.of(), 0);
+        }
+        tokens.sort(Comparator.comparingInt(String::length).reversed());
+
+        Map<Long, Double> candidates = new HashMap<>();
+        String driver = tokens.get(0);
+        // A one-letter query would expand to a large share of the dictionary
+        String driverEnd = driver.length() >= prefixMinLength ? driver + Character.MAX_VALUE : driver;
+        for (Postings postings : sortedTerms.subMap(driver, true, driverEnd, driver.length() < prefixMinLength).values()) {
+            if (!postings.collect(candidates, termScore(driver, postings.term), false, maxCandidates)) {
+                break;
+            }
+        }
+        if (fuzzy && driver.length() >= fuzzyMinLength && candidates.size() < maxCandidates) {
+            for (String term : fuzzyTerms(driver)) {
+                if (!terms.get(term).collect(candidates, FUZZY_SCORE, true, maxCandidates)) {
+                    break;
+                }
+            }
+        }
+
+        List<String> otherTokens = tokens.subList(1, tokens.size());
+        Comparator<Hit> worstFirst = Comparator.comparingDouble(Hit::score)
+                .thenComparing(Hit::id, Comparator.reverseOrder());
+        PriorityQueue<Hit> top = new PriorityQueue<>(Math.min(limit, candidates.size()) + 1, worstFirst);
+        int matched = 0;
+        for (Map.Entry<Long, Double> candidate : candidates.entrySet()) {
+            double score = candidate.getValue();
+            if (!otherTokens.isEmpty()) {
+                Entry entry = entries.get(candidate.getKey());
+                for (String token : otherTokens) {
+                    double tokenScore = matchScore(entry, token, fuzzy);
+                    if (tokenScore == 0) {
+                        score = 0;
+                        break;
+                    }
+                    score += tokenScore;
+                }
+                if (score == 0) {
+                    continue;
+                }
+            }
+            matched++;
+            top.add(new Hit(candidate.getKey(), score));
+            if (top.size() > limit) {
+                top.poll();
+            }
+        }
+
+        List<PatientSummary> ranked = new ArrayList<>(top.size());
+        while (!top.isEmpty()) {
+            ranked.add(entries.get(top.poll().id()).summary);
+        }
+        Collections.reverse(ranked);
+        return new Result(ranked, matched);
+    }
+
+    private double matchScore(Entry entry, String token, boolean fuzzy) {
+        double best = 0;
+        for (int i = 0; i < entry.terms.length; i++) {
+            String term = entry.terms[i];
+            double score = termScore(token, term);
+            if (score == 0 && fuzzy && entry.fields[i] == NAME && token.length() >= fuzzyMinLength
+                    && withinOneEdit(token, term)) {
+                score = FUZZY_SCORE;
+            }
+            best = Math.max(best, score * FIELD_WEIGHT[entry.fields[i]]);
+        }
+        return best;
+    }
+
+    // Exact beats prefix; a prefix covering more of the term ranks higher
+    private static double termScore(String token, String term) {
+        if (term.equals(token)) {
+            return 1.0;
+        }
+        return term.startsWith(token) ? 0.5 + 0.4 * token.length() / term.length() : 0;
+    }
+
+    // Indexed terms within one edit of the token (symmetric deletion lookup)
+    private Set<String> fuzzyTerms(String token) {
+        Set<String> found = new LinkedHashSet<>();
+        Set<String> variants = deletionsOf(token);
+        variants.add(token);
+        for (String variant : variants) {
+            if (!variant.equals(token) && terms.containsKey(variant)) {
+                found.add(variant);
+            }
+            List<String> sources = deletions.get(variant);
+            if (sources != null) {
+                found.addAll(sources);
+            }
+        }
+        found.removeIf(term -> term.startsWith(token) || !withinOneEdit(token, term));
+        return found;
+    }
+
+    private void indexDeletions(String term) {
+        if (term.length() < fuzzyMinLength) {
+            return;
+        }
+        for (String variant : deletionsOf(term)) {
+            deletions.computeIfAbsent(variant, v -> new ArrayList<>(1)).add(term);
+        }
+    }
+
+    private void unindexDeletions(String term) {
+        if (term.length() < fuzzyMinLength) {
+            return;
+        }
+        for (String variant : deletionsOf(term)) {
+            List<String> sources = deletions.get(variant);
+            if (sources != null) {
+                sources.remove(term);
+                if (sources.isEmpty()) {
+                    deletions.remove(variant);
+                }
+            }
+        }
+    }
+
+    private static Set<String> deletionsOf(String term) {
+        Set<String> variants = new LinkedHashSet<>();
+        for (int i = 0; i < term.length(); i++) {
+            variants.add(term.substring(0, i) + term.substring(i + 1));
+        }
+        return variants;
+    }
+
+    // Optimal string alignment distance <= 1 (one insert, delete, substitute or adjacent swap)
+    static boolean withinOneEdit(String a, String b) {
+        int la = a.length();
+        int lb = b.length();
+        if (Math.abs(la - lb) > 1) {
+            return false;
+        }
+        int i = 0;
+        while (i < la && i < lb && a.charAt(i) == b.charAt(i)) {
+            i++;
+        }
+        if (i == la && i == lb) {
+            return true;
+        }
+        if (la == lb) {
+            if (a.regionMatches(i + 1, b, i + 1, la - i - 1)) {
+                return true;
+            }
+            return i + 1 < la && a.charAt(i) == b.charAt(i + 1) && a.charAt(i + 1) == b.charAt(i)
+                    && a.regionMatches(i + 2, b, i + 2, la - i - 2);
+        }
+        return la > lb ? a.regionMatches(i + 1, b, i, lb - i) : b.regionMatches(i + 1, a, i, la - i);
+    }
+
+    static List<String> queryTokens(String query) {
+        Set<String> tokens = new LinkedHashSet<>();
+        if (query != null) {
+            for (String raw : normalize(query).trim().split("\\s+")) {
+                if (raw.isEmpty()) {
+                    continue;
+                }
+                if (raw.indexOf('@') >= 0) {
+                    tokens.add(raw);
+                } else if (DIGITS_QUERY.matcher(raw).matches()) {
+                    tokens.add(digits(raw));
+                } else {
+                    tokens.addAll(words(raw));
+                }
+            }
+        }
+        List<String> result = new ArrayList<>(tokens);
+        return result.size() > MAX_QUERY_TOKENS ? new ArrayList<>(result.subList(0, MAX_QUERY_TOKENS)) : result;
+    }
+
+    private static void addIdentifier(Map<String, Byte> docTerms, String identifier) {
+        List<String> parts = words(identifier);
+        if (parts.isEmpty()) {
+            return;
+        }
+        addTerm(docTerms, String.join("", parts), INSURANCE);
+        if (parts.size() > 1) {
+            for (String part : parts) {
+                addTerm(docTerms, part, INSURANCE);
+            }
+        }
+    }
+
+    // A term shared by two fields keeps the heavier one
+    private static void addTerm(Map<String, Byte> docTerms, String term, byte field) {
+        docTerms.merge(term, field, (current, added) -> FIELD_WEIGHT[added] > FIELD_WEIGHT[current] ? added : current);
+    }
+
+    private static List<String> words(String value) {
+        if (value == null || value.isBlank()) {
+            return List.of();
+        }
+        List<String> words = new ArrayList<>();
+        for (String word : NON_WORD.split(normalize(value))) {
+            if (!word.isEmpty()) {
+                words.add(word);
+            }
+        }
+        return words;
+    }
+
+    private static String digits(String value) {
+        if (value == null) {
+            return "";
+        }
+        StringBuilder digits = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digits.append(c);
+            }
+        }
+        return digits.toString();
+    }
+
+    private static String normalize(String value) {
+        return MARKS.matcher(Normalizer.normalize(value, Normalizer.Form.NFD)).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    record Result(List<PatientSummary> ranked, int matched) {}
+
+    private record Hit(Long id, double score) {}
+
+    private record Entry(PatientSummary summary, String[] terms, byte[] fields) {}
+
+    /** Unordered (id, field) list; most terms (emails, phones) belong to a single patient. */
+    private static final class Postings {
+        private final String term;
+        private long[] ids = new long[1];
+        private byte[] fields = new byte[1];
+        private int size;
+
+        Postings(String term) {
+            this.term = term;
+        }
+
+        void add(long id, byte field) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                fields = Arrays.copyOf(fields, size * 2);
+            }
+            ids[size] = id;
+            fields[size] = field;
+            size++;
+        }
+
+        void remove(long id) {
+            for (int i = 0; i < size; i++) {
+                if (ids[i] == id) {
+                    size--;
+                    ids[i] = ids[size];
+                    fields[i] = fields[size];
+                    return;
+                }
+            }
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        // Keeps each candidate's best weighted score; returns false once the cap is reached
+        boolean collect(Map<Long, Double> candidates, double score, boolean namesOnly, int cap) {
+            for (int i = 0; i < size; i++) {
+                if (candidates.size() >= cap) {
+                    return false;
+                }
+                if (!namesOnly || fields[i] == NAME) {
+                    candidates.merge(ids[i], score * FIELD_WEIGHT[fields[i]], Math::max);
+                }
+            }
+            return candidates.size() < cap;
+        }
+    }
+}
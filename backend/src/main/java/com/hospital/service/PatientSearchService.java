@@ -0,0 +1,163 @@
+package com.hospital.service;
+
+import com.hospital.dto.PatientSearchPage;
+import com.hospital.entity.Patient;
+import com.hospital.repository.PatientRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * Patient typeahead served from {@link PatientSearchIndex}. The index is
+ * built from the patients table at startup and kept current by
+ * {@link PatientService}; writes that land while a rebuild is reading the
+ * table are replayed onto the new index before it is swapped in.
+ */
+@Service
+public class PatientSearchService {
+    private static final Logger logger = LoggerFactory.getLogger(PatientSearchService.class);
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    @Autowired
+    private PaginationSettings paginationSettings;
+
+    @Value("${search.patients.fuzzy-min-length:4}")
+    private int fuzzyMinLength;
+
+    @Value("${search.patients.prefix-min-length:2}")
+    private int prefixMinLength;
+
+    @Value("${search.patients.max-candidates:20000}")
+    private int maxCandidates;
+
+    @Value("${search.patients.rebuild-batch-size:5000}")
+    private int rebuildBatchSize;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // One rebuild at a time; pendingDuringRebuild belongs to the rebuild holding it
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private PatientSearchIndex index;
+    private List<Consumer<PatientSearchIndex>> pendingDuringRebuild;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        rebuild();
+    }
+
+    public void rebuild() {
+        rebuildLock.lock();
+        try {
+            lock.writeLock().lock();
+            try {
+                pendingDuringRebuild = new ArrayList<>();
+            } finally {
+                lock.writeLock().unlock();
+            }
+
+            PatientSearchIndex fresh = new PatientSearchIndex(fuzzyMinLength, prefixMinLength);
+            try {
+                Long after = 0L;
+                List<Object[]> rows;
+                do {
+                    rows = patientRepository.findSearchRowsAfter(after, Limit.of(rebuildBatchSize));
+                    for (Object[] row : rows) {
+                        fresh.put((Long) row[0], (String) row[1], (String) row[2], (String) row[3],
+                                (LocalDate) row[4], (String) row[5], (String) row[6], (String) row[7]);
+                    }
+                    if (!rows.isEmpty()) {
+                        after = (Long) rows.get(rows.size() - 1)[0];
+                    }
+                } while (rows.size() == rebuildBatchSize);
+                fresh.finishLoading();
+            } catch (RuntimeException e) {
+                lock.writeLock().lock();
+                try {
+                    pendingDuringRebuild = null;
+                } finally {
+                    lock.writeLock().unlock();
+                }
+                throw e;
+            }
+
+            lock.writeLock().lock();
+            try {
+                pendingDuringRebuild.forEach(change -> change.accept(fresh));
+                pendingDuringRebuild = null;
+                index = fresh;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            logger.info("Patient search index built: {} patients", fresh.size());
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    public PatientSearchPage search(String query, int offset, Integer size, boolean fuzzy) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("Search query is required");
+        }
+        if (offset < 0) {
+            throw new IllegalArgumentException("Offset must not be negative");
+        }
+        int pageSize = paginationSettings.resolvePageSize(size);
+
+        PatientSearchIndex.Result result;
+        lock.readLock().lock();
+        try {
+            if (index == null) {
+                throw new IllegalStateException("Patient search index is still loading");
+            }
+            result = index.search(query, fuzzy, offset + pageSize, maxCandidates);
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        int from = Math.min(offset, result.ranked().size());
+        return new PatientSearchPage(result.ranked().subList(from, result.ranked().size()), offset, result.matched());
+    }
+
+    public void index(Patient patient) {
+        Long id = patient.getId();
+        String name = patient.getName();
+        String email = patient.getEmail();
+        String phone = patient.getPhone();
+        LocalDate dateOfBirth = patient.getDateOfBirth();
+        String bloodType = patient.getBloodType();
+        String policyNumber = patient.getInsurancePolicyNumber();
+        String groupNumber = patient.getInsuranceGroupNumber();
+        apply(target -> target.put(id, name, email, phone, dateOfBirth, bloodType, policyNumber, groupNumber));
+    }
+
+    public void remove(Long patientId) {
+        apply(target -> target.remove(patientId));
+    }
+
+    private void apply(Consumer<PatientSearchIndex> change) {
+        lock.writeLock().lock();
+        try {
+            if (index != null) {
+                change.accept(index);
+            }
+            if (pendingDuringRebuild != null) {
+                pendingDuringRebuild.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
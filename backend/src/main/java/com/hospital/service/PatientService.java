@@ -1,10 +1,16 @@
 package com.hospital.service;
 
+import com.hospital.dto.CursorPage;
+import com.hospital.dto.PageCursor;
+import com.hospital.dto.PatientSummary;
 import com.hospital.entity.Patient;
 import com.hospital.repository.PatientRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -17,8 +23,26 @@ public class PatientService {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
-    public List<Patient> getAllPatients() {
-        return patientRepository.findAll();
+    @Autowired
+    private PaginationSettings paginationSettings;
+
+    @Autowired
+    private PatientSearchService patientSearchService;
+
+    @Autowired
+    private ClinicalVocabularyService clinicalVocabularyService;
+
+    public CursorPage<PatientSummary> getPatientsPage(String cursor, Integer size, boolean includeTotal) {
+        int pageSize = paginationSettings.resolvePageSize(size);
+        PageCursor after = PageCursor.decode(cursor);
+        Limit limit = Limit.of(pageSize + 1);
+
+        List<PatientSummary> rows = after == null
+                ? patientRepository.findSummaries(limit)
+                : patientRepository.findSummariesAfter(after.getId(), limit);
+        Long total = paginationSettings.shouldCount(includeTotal) ? patientRepository.count() : null;
+
+        return CursorPage.of(rows, pageSize, p -> new PageCursor(null, p.getId()), total);
     }
 
     public Optional<Patient> getPatientById(Long id) {
@@ -29,12 +53,17 @@ public class PatientService {
         if (patient.getPassword() != null) {
             patient.setPassword(passwordEncoder.encode(patient.getPassword()));
         }
-        return patientRepository.save(patient);
+        Patient saved = patientRepository.save(patient);
+        patientSearchService.index(saved);
+        clinicalVocabularyService.patientMedicationsChanged(List.of(), saved.getMedications());
+        return saved;
     }
 
     public Patient updatePatient(Long id, Patient patientDetails) {
         Patient patient = patientRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Patient not found"));
+        List<String> previousMedications = patient.getMedications() != null
+                ? new ArrayList<>(patient.getMedications()) : List.of();
 
         patient.setName(patientDetails.getName());
         patient.setEmail(patientDetails.getEmail());
@@ -49,11 +78,18 @@ public class PatientService {
         patient.setInsuranceProvider(patientDetails.getInsuranceProvider());
         patient.setInsurancePolicyNumber(patientDetails.getInsurancePolicyNumber());
         patient.setInsuranceGroupNumber(patientDetails.getInsuranceGroupNumber());
+        // Edits limited to allergies, medications or history only rewrite their
+        // collection tables, so @PreUpdate would not fire on the patient row
+        patient.setUpdatedAt(LocalDateTime.now());
 
-        return patientRepository.save(patient);
+        Patient saved = patientRepository.save(patient);
+        patientSearchService.index(saved);
+        clinicalVocabularyService.patientMedicationsChanged(previousMedications, saved.getMedications());
+        return saved;
     }
 
     public void deletePatient(Long id) {
         patientRepository.deleteById(id);
+        patientSearchService.remove(id);
     }
 }
\ No newline at end of file
@@ -0,0 +1,128 @@
+package com.hospital.service;
+
+import com.hospital.dto.RefreshTokenLookup;
+import com.hospital.entity.RefreshToken;
+import com.hospital.repository.RefreshTokenRepository;
+import com.hospital.security.UserDetailsImpl;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Issues and rotates opaque refresh tokens. A refresh costs one HMAC and
+ * one indexed lookup; no password hash is involved. Sessions slide: each
+ * rotation extends the expiry by jwt.refresh-expiration, up to
+ * jwt.refresh-max-session after the original sign-in.
+ */
+@Service
+public class RefreshTokenService {
+    private static final Logger logger = LoggerFactory.getLogger(RefreshTokenService.class);
+
+    private static final int TOKEN_BYTES = 32;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Value("${jwt.secret}")
+    private String jwtSecret;
+
+    @Value("${jwt.refresh-expiration:1209600000}")
+    private long refreshExpirationMs;
+
+    @Value("${jwt.refresh-max-session:2592000000}")
+    private long maxSessionMs;
+
+    private final SecureRandom random = new SecureRandom();
+    private Mac hmacPrototype;
+
+    @PostConstruct
+    void init() throws GeneralSecurityException {
+        hmacPrototype = Mac.getInstance("HmacSHA256");
+        hmacPrototype.init(new SecretKeySpec(("refresh:" + jwtSecret).getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+    }
+
+    /**
+     * Starts a new session for a user who just proved their password.
+     */
+    public String issue(UserDetailsImpl user) {
+        LocalDateTime now = LocalDateTime.now();
+        return store(user.getId(), random.nextLong(), now, now);
+    }
+
+    /**
+     * Exchanges a refresh token for its successor. Presenting a token that
+     * was already rotated means it leaked or was replayed, so the whole
+     * session is revoked.
+     */
+    public Rotation rotate(String token) {
+        byte[] hash = hash(token);
+        RefreshTokenLookup current = refreshTokenRepository.findLookupByTokenHash(hash)
+                .orElseThrow(() -> new InvalidRefreshTokenException("Refresh token is not valid"));
+
+        LocalDateTime now = LocalDateTime.now();
+        if (current.getUsedAt() != null || refreshTokenRepository.markUsed(current.getId(), now) == 0) {
+            refreshTokenRepository.deleteByFamily(current.getFamily());
+            logger.warn("Refresh token reused for user {}; session revoked", current.getUserId());
+            throw new InvalidRefreshTokenException("Refresh token has already been used");
+        }
+        if (!current.getExpiresAt().isAfter(now)) {
+            throw new InvalidRefreshTokenException("Refresh token has expired");
+        }
+
+        String next = store(current.getUserId(), current.getFamily(), current.getSessionStartedAt(), now);
+        UserDetailsImpl user = UserDetailsImpl.fromClaims(
+                current.getUserId(), current.getEmail(), current.getName(), current.getRole().name());
+        return new Rotation(user, next);
+    }
+
+    public void revokeSession(String token) {
+        refreshTokenRepository.findLookupByTokenHash(hash(token))
+                .ifPresent(current -> refreshTokenRepository.deleteByFamily(current.getFamily()));
+    }
+
+    // Rotated tokens are kept until they expire so replays can still be detected
+    @Scheduled(cron = "${jwt.refresh-purge-cron:0 30 * * * *}")
+    public void purgeExpired() {
+        int purged = refreshTokenRepository.deleteExpired(LocalDateTime.now());
+        logger.debug("Purged {} expired refresh tokens", purged);
+    }
+
+    private String store(Long userId, Long family, LocalDateTime sessionStartedAt, LocalDateTime now) {
+        LocalDateTime sliding = now.plus(Duration.ofMillis(refreshExpirationMs));
+        LocalDateTime cap = sessionStartedAt.plus(Duration.ofMillis(maxSessionMs));
+        if (!cap.isAfter(now)) {
+            throw new InvalidRefreshTokenException("Session has reached its maximum length");
+        }
+
+        byte[] raw = new byte[TOKEN_BYTES];
+        random.nextBytes(raw);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(raw);
+        refreshTokenRepository.save(new RefreshToken(hash(token), userId, family, sessionStartedAt,
+                sliding.isBefore(cap) ? sliding : cap));
+        return token;
+    }
+
+    private byte[] hash(String token) {
+        try {
+            Mac mac = (Mac) hmacPrototype.clone();
+            return mac.doFinal(token.getBytes(StandardCharsets.US_ASCII));
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public record Rotation(UserDetailsImpl user, String refreshToken) {}
+}
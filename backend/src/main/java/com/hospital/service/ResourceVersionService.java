@@ -0,0 +1,77 @@
+package com.hospital.service;
+
+import com.hospital.dto.ResourceVersion;
+import com.hospital.repository.AppointmentRepository;
+import com.hospital.repository.MedicalRecordRepository;
+import com.hospital.repository.PatientRepository;
+import com.hospital.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+/**
+ * Validators for conditional GETs, computed from updated_at and row counts
+ * without loading entities. Appointment and record lists embed patient and
+ * doctor names, so they also depend on the newest change to any user.
+ */
+@Service
+public class ResourceVersionService {
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private MedicalRecordRepository medicalRecordRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    public Optional<ResourceVersion> patient(Long id) {
+        return patientRepository.findVersionById(id);
+    }
+
+    public ResourceVersion patients() {
+        return patientRepository.findCollectionVersion();
+    }
+
+    public Optional<ResourceVersion> appointment(Long id) {
+        return appointmentRepository.findVersionById(id);
+    }
+
+    public ResourceVersion appointments() {
+        return appointmentRepository.findCollectionVersion().and(userRepository.findLatestUpdate());
+    }
+
+    public ResourceVersion appointmentsByPatient(Long patientId) {
+        return appointmentRepository.findCollectionVersionByPatientId(patientId).and(userRepository.findLatestUpdate());
+    }
+
+    public ResourceVersion appointmentsByDoctor(Long doctorId) {
+        return appointmentRepository.findCollectionVersionByDoctorId(doctorId).and(userRepository.findLatestUpdate());
+    }
+
+    public ResourceVersion appointmentsOn(LocalDate date) {
+        return appointmentRepository.findCollectionVersionByDate(date).and(userRepository.findLatestUpdate());
+    }
+
+    public Optional<ResourceVersion> medicalRecord(Long id) {
+        return medicalRecordRepository.findVersionById(id);
+    }
+
+    public ResourceVersion medicalRecords() {
+        return medicalRecordRepository.findCollectionVersion().and(userRepository.findLatestUpdate());
+    }
+
+    public ResourceVersion medicalRecordsByPatient(Long patientId) {
+        return medicalRecordRepository.findCollectionVersionByPatientId(patientId).and(userRepository.findLatestUpdate());
+    }
+
+    public ResourceVersion medicalRecordsByDoctor(Long doctorId) {
+        return medicalRecordRepository.findCollectionVersionByDoctorId(doctorId).and(userRepository.findLatestUpdate());
+    }
+}
@@ -0,0 +1,7 @@
+package com.hospital.service;
+
+public class SlotUnavailableException extends AppointmentConflictException {
+    public SlotUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,165 @@
+package com.hospital.service;
+
+import com.hospital.dto.Suggestion;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.PriorityQueue;
+
+/**
+ * Prefix trie of free-text values weighted by how often they occur. Every
+ * node carries the highest weight found below it, so top-k completion is a
+ * best-first walk that touches only the branches it returns from.
+ *
+ * Children are kept in sorted parallel arrays rather than maps. Not
+ * thread-safe; {@link ClinicalVocabularyService} guards access.
+ */
+final class WeightedPrefixTrie {
+    private static final char[] NO_LABELS = new char[0];
+    private static final Node[] NO_CHILDREN = new Node[0];
+
+    private final Node root = new Node();
+    private int size;
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Adjusts the weight of a value by {@code delta}. Values are matched
+     * case-insensitively; the first spelling seen is the one suggested.
+     */
+    void add(String value, long delta) {
+        String key = normalize(value);
+        if (key.isEmpty() || delta == 0) {
+            return;
+        }
+        Node[] path = new Node[key.length() + 1];
+        Node node = root;
+        path[0] = node;
+        for (int i = 0; i < key.length(); i++) {
+            Node child = node.child(key.charAt(i));
+            if (child == null) {
+                if (delta < 0) {
+                    return;
+                }
+                child = node.addChild(key.charAt(i));
+            }
+            node = child;
+            path[i + 1] = node;
+        }
+
+        long before = node.count;
+        node.count = Math.max(0, node.count + delta);
+        if (before == 0 && node.count > 0) {
+            node.display = value.trim();
+            size++;
+        } else if (before > 0 && node.count == 0) {
+            node.display = null;
+            size--;
+        }
+
+        for (int i = path.length - 1; i >= 0; i--) {
+            Node current = path[i];
+            current.pruneEmptyChildren();
+            current.best = current.count;
+            for (Node child : current.children) {
+                current.best = Math.max(current.best, child.best);
+            }
+        }
+    }
+
+    List<Suggestion> complete(String prefix, int limit) {
+        String key = normalize(prefix);
+        Node node = root;
+        for (int i = 0; i < key.length() && node != null; i++) {
+            node = node.child(key.charAt(i));
+        }
+        if (node == null || node.best == 0 || limit <= 0) {
+            return List.of();
+        }
+
+        // Heaviest first; a node is queued once as a subtree and once as a value
+        PriorityQueue<Candidate> queue = new PriorityQueue<>((a, b) -> Long.compare(b.weight, a.weight));
+        queue.add(new Candidate(node, node.best, false));
+        List<Suggestion> results = new ArrayList<>(limit);
+        while (!queue.isEmpty() && results.size() < limit) {
+            Candidate next = queue.poll();
+            if (next.value) {
+                results.add(new Suggestion(next.node.display, next.weight));
+                continue;
+            }
+            if (next.node.count > 0) {
+                queue.add(new Candidate(next.node, next.node.count, true));
+            }
+            for (Node child : next.node.children) {
+                queue.add(new Candidate(child, child.best, false));
+            }
+        }
+        return results;
+    }
+
+    static String normalize(String value) {
+        if (value == null) {
+            return "";
+        }
+        return value.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    private record Candidate(Node node, long weight, boolean value) {}
+
+    private static final class Node {
+        private char[] labels = NO_LABELS;
+        private Node[] children = NO_CHILDREN;
+        private long count;
+        private long best;
+        private String display;
+
+        Node child(char label) {
+            int i = Arrays.binarySearch(labels, label);
+            return i >= 0 ? children[i] : null;
+        }
+
+        Node addChild(char label) {
+            int i = -(Arrays.binarySearch(labels, label) + 1);
+            char[] newLabels = new char[labels.length + 1];
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(labels, 0, newLabels, 0, i);
+            System.arraycopy(children, 0, newChildren, 0, i);
+            System.arraycopy(labels, i, newLabels, i + 1, labels.length - i);
+            System.arraycopy(children, i, newChildren, i + 1, children.length - i);
+            Node child = new Node();
+            newLabels[i] = label;
+            newChildren[i] = child;
+            labels = newLabels;
+            children = newChildren;
+            return child;
+        }
+
+        void pruneEmptyChildren() {
+            int kept = 0;
+            for (Node child : children) {
+                if (child.best > 0 || child.count > 0) {
+                    kept++;
+                }
+            }
+            if (kept == children.length) {
+                return;
+            }
+            char[] newLabels = new char[kept];
+            Node[] newChildren = new Node[kept];
+            int j = 0;
+            for (int i = 0; i < children.length; i++) {
+                if (children[i].best > 0 || children[i].count > 0) {
+                    newLabels[j] = labels[i];
+                    newChildren[j] = children[i];
+                    j++;
+                }
+            }
+            labels = kept == 0 ? NO_LABELS : newLabels;
+            children = kept == 0 ? NO_CHILDREN : newChildren;
+        }
+    }
+}
@@ -1 +1,23 @@
 INSERT INTO users (id, username, password) VALUES (1, 'admin', 'admin123');
+
+-- Keep the pooled id generators ahead of rows inserted while ids were IDENTITY-generated.
+-- The margin covers one allocation block (allocationSize = 50).
+UPDATE users_seq SET next_val = (SELECT COALESCE(MAX(id), 0) + 51 FROM users) WHERE next_val < (SELECT COALESCE(MAX(id), 0) + 51 FROM users);
+UPDATE appointments_seq SET next_val = (SELECT COALESCE(MAX(id), 0) + 51 FROM appointments) WHERE next_val < (SELECT COALESCE(MAX(id), 0) + 51 FROM appointments);
+UPDATE medical_records_seq SET next_val = (SELECT COALESCE(MAX(id), 0) + 51 FROM medical_records) WHERE next_val < (SELECT COALESCE(MAX(id), 0) + 51 FROM medical_records);
+
+-- Backfill reserved_slot for appointments booked before the column existed, so the slot
+-- constraint covers them too. 30 matches availability.slot-minutes. In a slot that is
+-- already double-booked only the oldest appointment is backfilled, and none if a newer
+-- booking already holds the slot. The others stay NULL and the availability rebuild logs them.
+UPDATE appointments a
+JOIN (SELECT MIN(o.id) AS id,
+             MAKETIME(HOUR(o.appointment_time), FLOOR(MINUTE(o.appointment_time) / 30) * 30, 0) AS slot
+      FROM appointments o
+      WHERE o.reserved_slot IS NULL AND o.status <> 'CANCELLED'
+        AND NOT EXISTS (SELECT 1 FROM appointments r
+                        WHERE r.doctor_id = o.doctor_id AND r.appointment_date = o.appointment_date
+                          AND r.reserved_slot = MAKETIME(HOUR(o.appointment_time), FLOOR(MINUTE(o.appointment_time) / 30) * 30, 0))
+      GROUP BY o.doctor_id, o.appointment_date, MAKETIME(HOUR(o.appointment_time), FLOOR(MINUTE(o.appointment_time) / 30) * 30, 0)) first_booking
+  ON first_booking.id = a.id
+SET a.reserved_slot = first_booking.slot;
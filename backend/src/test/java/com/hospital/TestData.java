@@ -0,0 +1,52 @@
+package com.hospital;
+
+import com.hospital.entity.Doctor;
+import com.hospital.entity.Patient;
+import com.hospital.entity.User;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Entities shaped like real charts, with every element collection filled.
+ * Test classes with the same configuration share an application context
+ * and its database, so each passes its own prefix to keep emails and
+ * license numbers unique.
+ */
+public final class TestData {
+    public static final String PASSWORD = "test-password";
+
+    private TestData() {}
+
+    public static User admin(String prefix, String encodedPassword) {
+        return new User("Admin " + prefix, prefix + "-admin@hospital.test", encodedPassword, User.Role.ADMIN);
+    }
+
+    public static Doctor doctor(String prefix, int i, String department) {
+        Doctor doctor = new Doctor("Doctor " + prefix + " " + i, prefix + "-doctor" + i + "@hospital.test", "$2a$10$test");
+        doctor.setDepartment(department);
+        doctor.setSpecialization(department);
+        doctor.setLicenseNumber(prefix + "-LIC-" + i);
+        doctor.setYearsOfExperience(10);
+        doctor.setConsultationFee(BigDecimal.valueOf(120));
+        doctor.setEducation(new ArrayList<>(List.of("MD, State University", "Residency, General Hospital")));
+        doctor.setCertifications(new ArrayList<>(List.of("Board Certified " + department)));
+        doctor.setLanguages(new ArrayList<>(List.of("English", "Spanish")));
+        return doctor;
+    }
+
+    public static Patient patient(String prefix, int i) {
+        Patient patient = new Patient("Patient " + prefix + " " + i, prefix + "-patient" + i + "@hospital.test", "$2a$10$test");
+        patient.setPhone("555-" + String.format("%07d", i));
+        patient.setDateOfBirth(LocalDate.of(1970, 1, 1).plusDays(i));
+        patient.setBloodType("O+");
+        patient.setAllergies(new ArrayList<>(List.of("Penicillin", "Latex")));
+        patient.setMedications(new ArrayList<>(List.of("Lisinopril", "Metformin")));
+        patient.setMedicalHistory(new ArrayList<>(List.of("Hypertension")));
+        patient.setInsuranceProvider("Acme Health");
+        patient.setInsurancePolicyNumber(prefix + "-POL-" + i);
+        return patient;
+    }
+}
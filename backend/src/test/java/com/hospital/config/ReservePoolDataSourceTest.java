@@ -0,0 +1,77 @@
+package com.hospital.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * A main pool of one connection stands in for a pool whose every connection
+ * is held by a thread waiting on an id block fetch.
+ */
+class ReservePoolDataSourceTest {
+
+    private HikariDataSource main;
+    private HikariDataSource reserve;
+    private ReservePoolDataSource dataSource;
+
+    @BeforeEach
+    void onePooledConnection() {
+        main = pool("main");
+        reserve = pool("reserve");
+        dataSource = new ReservePoolDataSource(main, reserve);
+    }
+
+    @AfterEach
+    void close() throws Exception {
+        dataSource.close();
+    }
+
+    @Test
+    void nestedConnectionComesFromTheReserve() throws Exception {
+        try (Connection outer = dataSource.getConnection()) {
+            try (Connection nested = dataSource.getConnection()) {
+                assertTrue(nested.isValid(1));
+                assertEquals(1, main.getHikariPoolMXBean().getActiveConnections());
+                assertEquals(1, reserve.getHikariPoolMXBean().getActiveConnections());
+            }
+            assertEquals(0, reserve.getHikariPoolMXBean().getActiveConnections());
+        }
+        // Closing the outer connection returns the thread to the main pool
+        try (Connection next = dataSource.getConnection()) {
+            assertEquals(1, main.getHikariPoolMXBean().getActiveConnections());
+            assertEquals(0, reserve.getHikariPoolMXBean().getActiveConnections());
+        }
+    }
+
+    @Test
+    void otherThreadsStillWaitForTheMainPool() throws Exception {
+        try (Connection outer = dataSource.getConnection()) {
+            CompletableFuture<Throwable> other = CompletableFuture.supplyAsync(() -> {
+                try (Connection connection = dataSource.getConnection()) {
+                    return null;
+                } catch (Exception e) {
+                    return e;
+                }
+            });
+            assertNotNull(other.get(), "a second thread must not borrow from the reserve");
+        }
+    }
+
+    private static HikariDataSource pool(String name) {
+        HikariDataSource pool = new HikariDataSource();
+        pool.setPoolName(name);
+        pool.setJdbcUrl("jdbc:h2:mem:" + UUID.randomUUID());
+        pool.setMaximumPoolSize(1);
+        pool.setConnectionTimeout(250);
+        return pool;
+    }
+}
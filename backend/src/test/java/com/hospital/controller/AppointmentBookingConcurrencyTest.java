@@ -0,0 +1,153 @@
+package com.hospital.controller;
+
+import com.hospital.TestData;
+import com.hospital.entity.Appointment;
+import com.hospital.entity.Doctor;
+import com.hospital.entity.Patient;
+import com.hospital.entity.User;
+import com.hospital.repository.AppointmentRepository;
+import com.hospital.repository.DoctorRepository;
+import com.hospital.repository.PatientRepository;
+import com.hospital.repository.UserRepository;
+import com.hospital.security.JwtUtils;
+import com.hospital.security.UserDetailsImpl;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Concurrent bookings of one doctor's slot: exactly one wins and the rest
+ * get 409, whether the in-memory availability index or the unique
+ * reserved_slot constraint catches the clash.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class AppointmentBookingConcurrencyTest {
+    private static final String PREFIX = "booking";
+    private static final int CLIENTS = 16;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private DoctorRepository doctorRepository;
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    private HttpHeaders adminHeaders;
+    private Doctor doctor;
+    private List<Patient> patients;
+
+    @BeforeAll
+    void seed() {
+        User admin = userRepository.save(TestData.admin(PREFIX, "$2a$10$test"));
+        adminHeaders = new HttpHeaders();
+        adminHeaders.setBearerAuth(jwtUtils.generateJwtToken(UserDetailsImpl.build(admin)));
+        adminHeaders.setContentType(MediaType.APPLICATION_JSON);
+
+        doctor = doctorRepository.save(TestData.doctor(PREFIX, 0, "Neurology"));
+        List<Patient> created = new ArrayList<>(CLIENTS);
+        for (int i = 0; i < CLIENTS; i++) {
+            created.add(TestData.patient(PREFIX, i));
+        }
+        patients = patientRepository.saveAll(created);
+    }
+
+    @Test
+    void concurrentBookingsOfOneSlotHaveExactlyOneWinner() throws Exception {
+        LocalDate date = LocalDate.now().plusDays(1);
+        LocalTime time = LocalTime.of(10, 0);
+
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+        List<Future<HttpStatusCode>> responses = new ArrayList<>(CLIENTS);
+        try {
+            for (Patient patient : patients) {
+                responses.add(clients.submit(() -> {
+                    start.await();
+                    return book(patient, date, time);
+                }));
+            }
+            start.countDown();
+
+            int booked = 0;
+            int conflicts = 0;
+            for (Future<HttpStatusCode> response : responses) {
+                HttpStatusCode status = response.get();
+                if (status.equals(HttpStatus.OK)) {
+                    booked++;
+                } else if (status.equals(HttpStatus.CONFLICT)) {
+                    conflicts++;
+                }
+            }
+            assertEquals(1, booked, "successful bookings");
+            assertEquals(CLIENTS - 1, conflicts, "conflicting bookings");
+        } finally {
+            clients.shutdownNow();
+        }
+        assertEquals(1, appointmentsAt(date, time));
+    }
+
+    @Test
+    void slotConstraintRejectsBookingTheIndexMissed() {
+        LocalDate date = LocalDate.now().plusDays(2);
+        LocalTime time = LocalTime.of(11, 0);
+        // Written behind the availability index's back, as another node would
+        Appointment existing = new Appointment(patients.get(0), doctor, date, time, "Follow-up", doctor.getDepartment());
+        existing.setReservedSlot(time);
+        appointmentRepository.save(existing);
+
+        assertEquals(HttpStatus.CONFLICT, book(patients.get(1), date, time));
+        assertEquals(1, appointmentsAt(date, time));
+    }
+
+    private HttpStatusCode book(Patient patient, LocalDate date, LocalTime time) {
+        Map<String, Object> request = Map.of(
+                "doctorId", doctor.getId(),
+                "appointmentDate", date.toString(),
+                "appointmentTime", time.toString(),
+                "reason", "Consultation");
+        return restTemplate.postForEntity("/appointments/patient/" + patient.getId(),
+                new HttpEntity<>(request, adminHeaders), String.class).getStatusCode();
+    }
+
+    private long appointmentsAt(LocalDate date, LocalTime time) {
+        return appointmentRepository.findAll().stream()
+                .filter(a -> a.getDoctor().getId().equals(doctor.getId())
+                        && a.getAppointmentDate().equals(date)
+                        && a.getAppointmentTime().equals(time))
+                .count();
+    }
+}
@@ -0,0 +1,154 @@
+package com.hospital.controller;
+
+import com.hospital.TestData;
+import com.hospital.entity.Appointment;
+import com.hospital.entity.Doctor;
+import com.hospital.entity.MedicalRecord;
+import com.hospital.entity.Patient;
+import com.hospital.entity.User;
+import com.hospital.repository.AppointmentRepository;
+import com.hospital.repository.DoctorRepository;
+import com.hospital.repository.MedicalRecordRepository;
+import com.hospital.repository.PatientRepository;
+import com.hospital.repository.UserRepository;
+import com.hospital.security.JwtUtils;
+import com.hospital.security.UserDetailsImpl;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The appointment and medical record list endpoints must run a small,
+ * fixed number of statements however many rows they return. Counts come
+ * from the per-request hibernate.request.statements meter that
+ * QueryStatsInterceptor records from RequestQueryStats.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ListEndpointStatementCountTest {
+    private static final String PREFIX = "lists";
+    private static final int MAX_LIST_STATEMENTS = 4;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private DoctorRepository doctorRepository;
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private MedicalRecordRepository medicalRecordRepository;
+
+    private HttpHeaders adminHeaders;
+    private Doctor doctor;
+    private List<Patient> patients;
+    private int rowsAdded;
+
+    @BeforeAll
+    void seed() {
+        User admin = userRepository.save(TestData.admin(PREFIX, "$2a$10$test"));
+        adminHeaders = new HttpHeaders();
+        adminHeaders.setBearerAuth(jwtUtils.generateJwtToken(UserDetailsImpl.build(admin)));
+
+        doctor = doctorRepository.save(TestData.doctor(PREFIX, 0, "Cardiology"));
+        patients = patientRepository.saveAll(List.of(TestData.patient(PREFIX, 0), TestData.patient(PREFIX, 1)));
+        addRows(6);
+    }
+
+    @Test
+    void listStatementCountsDoNotGrowWithRows() {
+        Map<String, Integer> few = measureLists();
+        addRows(60);
+        Map<String, Integer> many = measureLists();
+
+        assertEquals(few, many, "statement counts changed with the number of rows returned");
+        many.forEach((endpoint, statements) -> assertTrue(statements <= MAX_LIST_STATEMENTS,
+                endpoint + " ran " + statements + " statements"));
+    }
+
+    private Map<String, Integer> measureLists() {
+        Long patientId = patients.get(0).getId();
+        Long doctorId = doctor.getId();
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        counts.put("appointments", statements("AppointmentController", "getAllAppointments", "/appointments?size=100"));
+        counts.put("appointments by patient", statements("AppointmentController", "getAppointmentsByPatient", "/appointments/patient/" + patientId));
+        counts.put("appointments by doctor", statements("AppointmentController", "getAppointmentsByDoctor", "/appointments/doctor/" + doctorId));
+        counts.put("today's appointments", statements("AppointmentController", "getTodayAppointments", "/appointments/today"));
+        counts.put("medical records", statements("MedicalRecordController", "getAllMedicalRecords", "/medical-records?size=100"));
+        counts.put("records by patient", statements("MedicalRecordController", "getMedicalRecordsByPatient", "/medical-records/patient/" + patientId));
+        counts.put("records by doctor", statements("MedicalRecordController", "getMedicalRecordsByDoctor", "/medical-records/doctor/" + doctorId));
+        return counts;
+    }
+
+    private int statements(String controller, String method, String url) {
+        double before = totalStatements(controller, method);
+        ResponseEntity<String> response = restTemplate.exchange(url, HttpMethod.GET, new HttpEntity<>(adminHeaders), String.class);
+        assertEquals(HttpStatus.OK, response.getStatusCode(), url);
+        return (int) (totalStatements(controller, method) - before);
+    }
+
+    private double totalStatements(String controller, String method) {
+        DistributionSummary summary = meterRegistry.find("hibernate.request.statements")
+                .tag("controller", controller)
+                .tag("method", method)
+                .summary();
+        return summary != null ? summary.totalAmount() : 0;
+    }
+
+    // Half today (one slot each), half on later days; a record for every appointment
+    private void addRows(int count) {
+        List<Appointment> appointments = new ArrayList<>(count);
+        List<MedicalRecord> records = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int row = rowsAdded++;
+            LocalDate date = LocalDate.now().plusDays(row % 2 == 0 ? 0 : 1 + row / 36);
+            LocalTime time = LocalTime.of(0, 0).plusMinutes(30L * (row / 2 % 48));
+            Patient patient = patients.get(row % patients.size());
+            Appointment appointment = new Appointment(patient, doctor, date, time, "Follow-up", doctor.getDepartment());
+            appointment.setReservedSlot(time);
+            appointments.add(appointment);
+
+            MedicalRecord record = new MedicalRecord(patient, doctor, date, "Hypertension", "Lifestyle changes");
+            record.setMedications(new ArrayList<>(List.of("Lisinopril", "Aspirin")));
+            records.add(record);
+        }
+        appointmentRepository.saveAll(appointments);
+        medicalRecordRepository.saveAll(records);
+    }
+}
@@ -0,0 +1,199 @@
+package com.hospital.controller;
+
+import com.hospital.TestData;
+import com.hospital.config.QueryBudget;
+import com.hospital.entity.Appointment;
+import com.hospital.entity.Doctor;
+import com.hospital.entity.MedicalRecord;
+import com.hospital.entity.Patient;
+import com.hospital.entity.User;
+import com.hospital.repository.AppointmentRepository;
+import com.hospital.repository.DoctorRepository;
+import com.hospital.repository.MedicalRecordRepository;
+import com.hospital.repository.PatientRepository;
+import com.hospital.repository.UserRepository;
+import com.hospital.service.AvailabilityService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Drives every endpoint in query-baseline.properties with
+ * query.budget.fail-on-regression on, so a change that makes an endpoint
+ * prepare more statements than its recorded baseline fails the build.
+ *
+ * This run is also the one that records the baseline; see {@link QueryBudget}
+ * for the command. QueryBudgetExceededTest covers what a failure looks like.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "query.budget.fail-on-regression=true")
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class QueryBaselineRegressionTest {
+    private static final String PREFIX = "baseline";
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private DoctorRepository doctorRepository;
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private MedicalRecordRepository medicalRecordRepository;
+
+    @Autowired
+    private AvailabilityService availabilityService;
+
+    private User admin;
+    private Doctor doctor;
+    private Patient patient;
+    private Appointment appointment;
+    private MedicalRecord record;
+
+    @BeforeAll
+    void seed() {
+        admin = userRepository.save(TestData.admin(PREFIX, passwordEncoder.encode(TestData.PASSWORD)));
+        doctor = doctorRepository.save(TestData.doctor(PREFIX, 0, "Oncology"));
+        List<Patient> patients = patientRepository.saveAll(List.of(TestData.patient(PREFIX, 0), TestData.patient(PREFIX, 1)));
+        patient = patients.get(0);
+
+        List<Appointment> appointments = new ArrayList<>();
+        List<MedicalRecord> records = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            Patient owner = patients.get(i % patients.size());
+            LocalDate date = LocalDate.now().plusDays(i % 2 == 0 ? 0 : 1);
+            LocalTime time = LocalTime.of(8 + i, 0);
+            Appointment booked = new Appointment(owner, doctor, date, time, "Follow-up", doctor.getDepartment());
+            booked.setReservedSlot(time);
+            appointments.add(booked);
+
+            MedicalRecord written = new MedicalRecord(owner, doctor, date, "Hypertension", "Lifestyle changes");
+            written.setMedications(new ArrayList<>(List.of("Lisinopril", "Aspirin")));
+            records.add(written);
+        }
+        appointment = appointmentRepository.saveAll(appointments).get(0);
+        record = medicalRecordRepository.saveAll(records).get(0);
+        // Rows written through the repositories reach the availability index on its next rebuild
+        availabilityService.rebuild();
+    }
+
+    @Test
+    void baselineEndpointsStayWithinTheirBaselines() throws IOException {
+        JsonNode login = signIn();
+        HttpHeaders headers = bearer(login.get("token").asText());
+        call(HttpMethod.POST, "/auth/refresh", null, Map.of("refreshToken", login.get("refreshToken").asText()));
+
+        Long patientId = patient.getId();
+        Long doctorId = doctor.getId();
+        call(HttpMethod.POST, "/appointments/patient/" + patientId, headers, Map.of(
+                "doctorId", doctorId,
+                "appointmentDate", LocalDate.now().plusDays(2).toString(),
+                "appointmentTime", "09:00:00",
+                "reason", "Consultation"));
+        call(HttpMethod.GET, "/appointments?size=100", headers, null);
+        call(HttpMethod.GET, "/appointments/" + appointment.getId(), headers, null);
+        call(HttpMethod.GET, "/appointments/patient/" + patientId, headers, null);
+        call(HttpMethod.GET, "/appointments/doctor/" + doctorId, headers, null);
+        call(HttpMethod.GET, "/appointments/today", headers, null);
+        call(HttpMethod.GET, "/autocomplete/medications?prefix=Lis", headers, null);
+        call(HttpMethod.GET, "/availability/doctor/" + doctorId, headers, null);
+        call(HttpMethod.GET, "/availability/department/" + doctor.getDepartment() + "/earliest", headers, null);
+        call(HttpMethod.GET, "/api/dashboard", headers, null);
+        call(HttpMethod.GET, "/doctors", headers, null);
+        call(HttpMethod.GET, "/doctors/department/" + doctor.getDepartment(), headers, null);
+        call(HttpMethod.GET, "/medical-records?size=100", headers, null);
+        call(HttpMethod.GET, "/medical-records/" + record.getId(), headers, null);
+        call(HttpMethod.GET, "/medical-records/patient/" + patientId, headers, null);
+        call(HttpMethod.GET, "/medical-records/doctor/" + doctorId, headers, null);
+        call(HttpMethod.GET, "/api/patients", headers, null);
+        call(HttpMethod.GET, "/api/patients/" + patientId, headers, null);
+        call(HttpMethod.GET, "/api/patients/search?q=Patient", headers, null);
+
+        // A baseline entry this suite no longer reaches would stop guarding anything
+        Properties baseline = new Properties();
+        try (InputStream in = new ClassPathResource("query-baseline.properties").getInputStream()) {
+            baseline.load(in);
+        }
+        for (String handler : baseline.stringPropertyNames()) {
+            String[] parts = handler.split("\\.");
+            DistributionSummary summary = meterRegistry.find("hibernate.request.statements")
+                    .tag("controller", parts[0])
+                    .tag("method", parts[1])
+                    .summary();
+            assertTrue(summary != null && summary.count() > 0, handler + " is in the baseline but was not called");
+        }
+    }
+
+    private JsonNode signIn() {
+        try {
+            return objectMapper.readTree(call(HttpMethod.POST, "/auth/signin", null,
+                    Map.of("email", admin.getEmail(), "password", TestData.PASSWORD, "role", "ADMIN")));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private HttpHeaders bearer(String token) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(token);
+        return headers;
+    }
+
+    private String call(HttpMethod method, String url, HttpHeaders headers, Object body) {
+        HttpHeaders requestHeaders = new HttpHeaders();
+        if (headers != null) {
+            requestHeaders.putAll(headers);
+        }
+        if (body != null) {
+            requestHeaders.setContentType(MediaType.APPLICATION_JSON);
+        }
+        ResponseEntity<String> response = restTemplate.exchange(url, method, new HttpEntity<>(body, requestHeaders), String.class);
+        assertEquals(200, response.getStatusCode().value(), method + " " + url + ": " + response.getBody());
+        return response.getBody();
+    }
+}
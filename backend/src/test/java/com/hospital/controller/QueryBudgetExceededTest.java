@@ -0,0 +1,97 @@
+package com.hospital.controller;
+
+import com.hospital.TestData;
+import com.hospital.entity.Doctor;
+import com.hospital.entity.MedicalRecord;
+import com.hospital.entity.Patient;
+import com.hospital.entity.User;
+import com.hospital.repository.DoctorRepository;
+import com.hospital.repository.MedicalRecordRepository;
+import com.hospital.repository.PatientRepository;
+import com.hospital.repository.UserRepository;
+import com.hospital.security.JwtUtils;
+import com.hospital.security.UserDetailsImpl;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * With query.budget.fail-on-regression on, the statement that takes an
+ * endpoint past its baseline fails the request with 500 and the budget
+ * message. query-baseline-exceeded.properties allows the endpoint under
+ * test no statements at all.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "query.budget.fail-on-regression=true",
+        "query.budget.baseline=classpath:query-baseline-exceeded.properties"})
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class QueryBudgetExceededTest {
+    private static final String PREFIX = "budget";
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private DoctorRepository doctorRepository;
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    @Autowired
+    private MedicalRecordRepository medicalRecordRepository;
+
+    private HttpHeaders adminHeaders;
+    private MedicalRecord record;
+
+    @BeforeAll
+    void seed() {
+        User admin = userRepository.save(TestData.admin(PREFIX, "$2a$10$test"));
+        adminHeaders = new HttpHeaders();
+        adminHeaders.setBearerAuth(jwtUtils.generateJwtToken(UserDetailsImpl.build(admin)));
+
+        Doctor doctor = doctorRepository.save(TestData.doctor(PREFIX, 0, "Cardiology"));
+        Patient patient = patientRepository.save(TestData.patient(PREFIX, 0));
+        record = medicalRecordRepository.save(
+                new MedicalRecord(patient, doctor, LocalDate.now(), "Hypertension", "Lifestyle changes"));
+    }
+
+    @Test
+    void statementPastTheBaselineFailsTheRequest() {
+        ResponseEntity<String> response = restTemplate.exchange("/medical-records/" + record.getId(),
+                HttpMethod.GET, new HttpEntity<>(adminHeaders), String.class);
+
+        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, response.getStatusCode());
+        assertTrue(response.getBody().startsWith(
+                "Error: MedicalRecordController.getMedicalRecordById prepared 1 statements, over its baseline of 0"),
+                response.getBody());
+    }
+
+    @Test
+    void endpointsWithoutABaselineAreNotFailed() {
+        ResponseEntity<String> response = restTemplate.exchange("/medical-records/patient/" + record.getPatient().getId(),
+                HttpMethod.GET, new HttpEntity<>(adminHeaders), String.class);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+    }
+}
@@ -0,0 +1,29 @@
+package com.hospital.security;
+
+import com.hospital.HospitalManagementApplication;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.SpringApplication;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Actuator requests on the management port skip authentication, so a
+ * management port equal to the API port must stop startup rather than open
+ * the API.
+ */
+class ManagementPortTest {
+
+    @Test
+    void startupFailsWhenManagementPortIsTheApiPort() {
+        SpringApplication application = new SpringApplication(HospitalManagementApplication.class);
+        Exception failure = assertThrows(Exception.class, () -> application.run(
+                "--spring.profiles.active=test", "--server.port=18080", "--management.server.port=18080"));
+
+        Throwable cause = failure;
+        while (cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        assertTrue(cause.getMessage().contains("management.server.port must differ"), cause.toString());
+    }
+}
@@ -0,0 +1,72 @@
+package com.hospital.service;
+
+import com.hospital.dto.Suggestion;
+import com.hospital.repository.MedicalRecordRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.when;
+
+/**
+ * Records written while the nightly rebuild is counting must still be in the
+ * vocabulary it swaps in. The counts come from a mocked repository, and each
+ * test lands a write after a count has been read and before the swap.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class ClinicalVocabularyRebuildTest {
+
+    @Autowired
+    private ClinicalVocabularyService clinicalVocabularyService;
+
+    @MockBean
+    private MedicalRecordRepository medicalRecordRepository;
+
+    @BeforeEach
+    void countTwoRecords() {
+        when(medicalRecordRepository.countMedications()).thenReturn(List.<Object[]>of(new Object[] {"Vocabularol", 2L}));
+        when(medicalRecordRepository.countDiagnoses()).thenReturn(List.<Object[]>of(new Object[] {"Vocabulary asthma", 2L}));
+    }
+
+    @Test
+    void recordAddedDuringRebuildIsKept() {
+        doAnswer(invocation -> {
+            clinicalVocabularyService.recordAdded("Vocabulary asthma", List.of("Vocabularol"));
+            return List.<Object[]>of(new Object[] {"Vocabularol", 2L});
+        }).when(medicalRecordRepository).countMedications();
+
+        clinicalVocabularyService.rebuild();
+
+        assertEquals(3, frequency(ClinicalVocabularyService.Vocabulary.MEDICATIONS, "Vocabularol"));
+        assertEquals(3, frequency(ClinicalVocabularyService.Vocabulary.DIAGNOSES, "Vocabulary asthma"));
+    }
+
+    @Test
+    void recordRemovedDuringRebuildIsKept() {
+        doAnswer(invocation -> {
+            clinicalVocabularyService.recordRemoved("Vocabulary asthma", List.of("Vocabularol"));
+            return List.<Object[]>of(new Object[] {"Vocabulary asthma", 2L});
+        }).when(medicalRecordRepository).countDiagnoses();
+
+        clinicalVocabularyService.rebuild();
+
+        assertEquals(1, frequency(ClinicalVocabularyService.Vocabulary.MEDICATIONS, "Vocabularol"));
+        assertEquals(1, frequency(ClinicalVocabularyService.Vocabulary.DIAGNOSES, "Vocabulary asthma"));
+    }
+
+    private long frequency(ClinicalVocabularyService.Vocabulary vocabulary, String value) {
+        return clinicalVocabularyService.complete(vocabulary, value, 20).stream()
+                .filter(suggestion -> suggestion.getValue().equals(value))
+                .mapToLong(Suggestion::getFrequency)
+                .findFirst()
+                .orElse(0);
+    }
+}